@@ -2,9 +2,25 @@ package com.sportscenter.activity;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
 import org.springframework.cloud.client.discovery.EnableDiscoveryClient;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
 
-@SpringBootApplication
+// module common : événements métier (outbox, transports), traces, threads virtuels
+@SpringBootApplication(scanBasePackages = {
+        "com.sportscenter.activity",
+        "com.sportscenter.common.event",
+        "com.sportscenter.common.tracing",
+        "com.sportscenter.common.execution"
+})
+@EntityScan(basePackages = {
+        "com.sportscenter.activity",
+        "com.sportscenter.common.event"
+})
+@EnableJpaRepositories(basePackages = {
+        "com.sportscenter.activity",
+        "com.sportscenter.common.event"
+})
 @EnableDiscoveryClient
 public class ActivityServiceApplication {
 
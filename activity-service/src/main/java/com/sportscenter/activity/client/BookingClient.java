@@ -0,0 +1,30 @@
+package com.sportscenter.activity.client;
+
+import com.sportscenter.activity.dto.ActivityOccupancyDTO;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+@Component
+public class BookingClient {
+
+    private final RestTemplate restTemplate;
+    private final String baseUrl;
+
+    public BookingClient(RestTemplate restTemplate,
+                         @Value("${clients.booking-service-url:http://booking-service}") String baseUrl) {
+        this.restTemplate = restTemplate;
+        this.baseUrl = baseUrl;
+    }
+
+    // un seul appel, agrégé côté base de booking-service
+    public List<ActivityOccupancyDTO> getOccupancy() {
+        ActivityOccupancyDTO[] occupancy = restTemplate.getForObject(
+                baseUrl + "/api/bookings/occupancy", ActivityOccupancyDTO[].class);
+        return occupancy != null ? Arrays.asList(occupancy) : Collections.emptyList();
+    }
+}
@@ -0,0 +1,10 @@
+package com.sportscenter.activity.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+
+// caches Caffeine définis dans application.yml (spring.cache.*)
+@Configuration
+@EnableCaching
+public class CacheConfig {
+}
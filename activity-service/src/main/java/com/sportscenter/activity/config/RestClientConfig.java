@@ -0,0 +1,29 @@
+package com.sportscenter.activity.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.cloud.client.loadbalancer.LoadBalanced;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Duration;
+
+@Configuration
+public class RestClientConfig {
+
+    // transport http de l'outbox : abonnés résolus via Eureka (http://booking-service/...)
+    @Bean
+    @LoadBalanced
+    public RestTemplate restTemplate(RestTemplateBuilder builder,
+                                     @Value("${clients.username}") String username,
+                                     @Value("${clients.password}") String password,
+                                     @Value("${clients.connect-timeout:2s}") Duration connectTimeout,
+                                     @Value("${clients.read-timeout:3s}") Duration readTimeout) {
+        return builder
+                .basicAuthentication(username, password)
+                .setConnectTimeout(connectTimeout)
+                .setReadTimeout(readTimeout)
+                .build();
+    }
+}
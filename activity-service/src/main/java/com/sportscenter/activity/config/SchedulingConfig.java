@@ -0,0 +1,10 @@
+package com.sportscenter.activity.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+// tâches de fond : relais de l'outbox
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
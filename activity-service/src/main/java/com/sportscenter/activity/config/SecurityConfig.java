@@ -1,22 +1,32 @@
 package com.sportscenter.activity.config;
 
+import com.sportscenter.common.security.GatewayAuthenticationFilter;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configuration.WebSecurityConfigurerAdapter;
+import org.springframework.security.web.authentication.www.BasicAuthenticationFilter;
 
 @Configuration
 @EnableWebSecurity
 public class SecurityConfig extends WebSecurityConfigurerAdapter {
 
+    @Value("${security.gateway.shared-secret}")
+    private String gatewaySecret;
+
     @Override
     protected void configure(HttpSecurity http) throws Exception {
         http
             .csrf().disable()
             .authorizeRequests()
                 .antMatchers("/actuator/**").permitAll()
+                // appels entre services (places, événements) : compte httpBasic de service uniquement
+                .antMatchers("/internal/**").hasRole("SERVICE")
                 .anyRequest().authenticated()
             .and()
+            // identité transmise par l'api-gateway (JWT déjà vérifié)
+            .addFilterBefore(new GatewayAuthenticationFilter(gatewaySecret), BasicAuthenticationFilter.class)
             .httpBasic();
     }
 
@@ -1,39 +1,115 @@
 package com.sportscenter.activity.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.sportscenter.activity.dto.ActivityDTO;
+import com.sportscenter.activity.dto.ActivityStatsDTO;
 import com.sportscenter.activity.service.ActivityService;
+import com.sportscenter.activity.service.OccupancyReadModel;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/activities")
 public class ActivityController {
 
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 500;
+    private static final int MAX_BATCH_IDS = 1000;
+
     @Autowired
     private ActivityService activityService;
 
+    @Autowired
+    private OccupancyReadModel occupancy;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
     @PostMapping
     public ResponseEntity<ActivityDTO> createActivity(@RequestBody ActivityDTO dto) {
-        return ResponseEntity.status(HttpStatus.CREATED).body(activityService.createActivity(dto));
+        return ResponseEntity.status(HttpStatus.CREATED).body(occupancy.apply(activityService.createActivity(dto)));
     }
 
+    // colonne current_participants telle quelle : booking-service y aligne son compteur de places
     @GetMapping("/{id}")
     public ResponseEntity<ActivityDTO> getActivity(@PathVariable Long id) {
-        return ResponseEntity.ok(activityService.getActivity(id));
+        return ResponseEntity.ok(occupancy.fromDatabase(activityService.getActivity(id)));
     }
 
     @GetMapping
-    public ResponseEntity<List<ActivityDTO>> getAllActivities() {
-        return ResponseEntity.ok(activityService.getAllActivities());
+    public ResponseEntity<List<ActivityDTO>> getAllActivities(
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String from,
+            @RequestParam(required = false) String to) {
+        // planning incomplet (from sans to, ou l'inverse) : 400 plutôt que la liste complète
+        if (from != null || to != null) {
+            return ResponseEntity.badRequest().build();
+        }
+        // sans curseur ni limite : liste complète (compatibilité front)
+        if (after == null && limit == null) {
+            return ResponseEntity.ok(withOccupancy(activityService.getAllActivities()));
+        }
+
+        int size = limit == null ? DEFAULT_PAGE_SIZE : Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+        List<ActivityDTO> page = withOccupancy(activityService.getActivitiesPage(after, size));
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.size() == size) {
+            response.header("X-Next-Cursor", String.valueOf(page.get(size - 1).getId()));
+        }
+        return response.body(page);
+    }
+
+    // recherche groupée : GET /api/activities?ids=1,2,3
+    @GetMapping(params = "ids")
+    public ResponseEntity<List<ActivityDTO>> getActivitiesByIds(@RequestParam List<Long> ids) {
+        if (ids.size() > MAX_BATCH_IDS) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(withOccupancy(activityService.getActivitiesByIds(ids)));
+    }
+
+    // planning : GET /api/activities?from=2024-05-06T18:00&to=2024-05-06T20:00[&coach=...]
+    @GetMapping(params = {"from", "to"})
+    public ResponseEntity<List<ActivityDTO>> getActivitiesBetween(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String coach) {
+        if (!from.isBefore(to)) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(withOccupancy(activityService.getActivitiesBetween(from, to, coach)));
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamActivities() {
+        StreamingResponseBody body = out -> activityService.streamAllActivities(dto -> writeLine(out, occupancy.apply(dto)));
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    @GetMapping("/stats")
+    public ResponseEntity<ActivityStatsDTO> getStats() {
+        return ResponseEntity.ok(activityService.getStats());
     }
 
     @PutMapping("/{id}")
     public ResponseEntity<ActivityDTO> updateActivity(@PathVariable Long id, @RequestBody ActivityDTO dto) {
-        return ResponseEntity.ok(activityService.updateActivity(id, dto));
+        return ResponseEntity.ok(occupancy.apply(activityService.updateActivity(id, dto)));
     }
 
     @DeleteMapping("/{id}")
@@ -42,4 +118,19 @@ public class ActivityController {
         return ResponseEntity.noContent().build();
     }
 
+    // places restantes « en direct » : une copie par ligne, les listes en cache restent intactes
+    private List<ActivityDTO> withOccupancy(List<ActivityDTO> activities) {
+        return activities.stream().map(occupancy::apply).collect(Collectors.toList());
+    }
+
+    // une ligne JSON par élément (NDJSON)
+    private void writeLine(OutputStream out, Object dto) {
+        try {
+            out.write(objectMapper.writeValueAsBytes(dto));
+            out.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
 }
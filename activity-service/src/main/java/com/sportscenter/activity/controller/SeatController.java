@@ -0,0 +1,42 @@
+package com.sportscenter.activity.controller;
+
+import com.sportscenter.activity.service.ActivityService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Compteur de places (colonne current_participants), appelé par booking-service seulement.
+ *
+ * Hors de /api/** : l'api-gateway ne route pas /internal/**, et SecurityConfig le réserve
+ * au compte de service (rôle SERVICE). Un utilisateur ne peut donc pas rendre des places.
+ */
+@RestController
+@RequestMapping("/internal/activities")
+public class SeatController {
+
+    private final ActivityService activityService;
+
+    public SeatController(ActivityService activityService) {
+        this.activityService = activityService;
+    }
+
+    @PutMapping("/{id}/reserve")
+    public ResponseEntity<Void> reserveSeats(@PathVariable Long id, @RequestParam(defaultValue = "1") int seats) {
+        if (seats < 1) {
+            return ResponseEntity.badRequest().build();
+        }
+        return activityService.reserveSeats(id, seats)
+                ? ResponseEntity.noContent().build()
+                : ResponseEntity.status(HttpStatus.CONFLICT).build();
+    }
+
+    @PutMapping("/{id}/release")
+    public ResponseEntity<Void> releaseSeats(@PathVariable Long id, @RequestParam(defaultValue = "1") int seats) {
+        if (seats < 1) {
+            return ResponseEntity.badRequest().build();
+        }
+        activityService.releaseSeats(id, seats);
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -45,12 +45,24 @@ public class ActivityDTO {
 	public void setMaxCapacity(Integer maxCapacity) {
 		this.maxCapacity = maxCapacity;
 	}
+	public String getRoom() {
+		return room;
+	}
+	public void setRoom(String room) {
+		this.room = room;
+	}
 	public Integer getCurrentParticipants() {
 		return currentParticipants;
 	}
 	public void setCurrentParticipants(Integer currentParticipants) {
 		this.currentParticipants = currentParticipants;
 	}
+	public Integer getSeatsLeft() {
+		return seatsLeft;
+	}
+	public void setSeatsLeft(Integer seatsLeft) {
+		this.seatsLeft = seatsLeft;
+	}
 	public LocalDateTime getStartTime() {
 		return startTime;
 	}
@@ -63,7 +75,14 @@ public class ActivityDTO {
 	public void setEndTime(LocalDateTime endTime) {
 		this.endTime = endTime;
 	}
+	// copie superficielle : les DTO en cache ne sont jamais modifiés sur place
+	public ActivityDTO copy() {
+		return new ActivityDTO(id, name, description, coach, maxCapacity, currentParticipants, seatsLeft, room, startTime, endTime);
+	}
 	private Integer currentParticipants;
+    // places restantes d'après les réservations confirmées (OccupancyReadModel)
+    private Integer seatsLeft;
+    private String room;
     private LocalDateTime startTime;
     private LocalDateTime endTime;
 }
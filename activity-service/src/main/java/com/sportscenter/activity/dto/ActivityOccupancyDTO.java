@@ -0,0 +1,18 @@
+package com.sportscenter.activity.dto;
+
+// réservations actives d'une activité selon booking-service (GET /api/bookings/occupancy)
+public class ActivityOccupancyDTO {
+
+    private Long activityId;
+    private long confirmed;
+    private long pending;
+
+    public Long getActivityId() { return activityId; }
+    public void setActivityId(Long activityId) { this.activityId = activityId; }
+
+    public long getConfirmed() { return confirmed; }
+    public void setConfirmed(long confirmed) { this.confirmed = confirmed; }
+
+    public long getPending() { return pending; }
+    public void setPending(long pending) { this.pending = pending; }
+}
@@ -0,0 +1,25 @@
+package com.sportscenter.activity.dto;
+
+public class ActivityStatsDTO {
+
+    private long totalActivities;
+    private long fullActivities;
+    private long totalCapacity;
+    private long totalParticipants;
+    private double fillRate;
+
+    public long getTotalActivities() { return totalActivities; }
+    public void setTotalActivities(long totalActivities) { this.totalActivities = totalActivities; }
+
+    public long getFullActivities() { return fullActivities; }
+    public void setFullActivities(long fullActivities) { this.fullActivities = fullActivities; }
+
+    public long getTotalCapacity() { return totalCapacity; }
+    public void setTotalCapacity(long totalCapacity) { this.totalCapacity = totalCapacity; }
+
+    public long getTotalParticipants() { return totalParticipants; }
+    public void setTotalParticipants(long totalParticipants) { this.totalParticipants = totalParticipants; }
+
+    public double getFillRate() { return fillRate; }
+    public void setFillRate(double fillRate) { this.fillRate = fillRate; }
+}
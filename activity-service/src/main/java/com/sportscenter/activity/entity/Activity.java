@@ -74,6 +74,14 @@ public class Activity {
 		this.endTime = endTime;
 	}
 
+	public String getRoom() {
+		return room;
+	}
+
+	public void setRoom(String room) {
+		this.room = room;
+	}
+
 	public Integer getCurrentParticipants() {
 		return currentParticipants;
 	}
@@ -110,6 +118,10 @@ public class Activity {
     @Column(name = "max_capacity", nullable = false)
     private Integer maxCapacity;
 
+    // salle (optionnelle) : sert à la détection des conflits de planning
+    @Column(length = 100)
+    private String room;
+
     @Column(name = "start_time", nullable = false)
     private LocalDateTime startTime;
 
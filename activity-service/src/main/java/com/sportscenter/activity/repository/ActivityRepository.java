@@ -1,9 +1,47 @@
 package com.sportscenter.activity.repository;
 
 import com.sportscenter.activity.entity.Activity;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
+import java.util.List;
+import java.util.stream.Stream;
+
 @Repository
 public interface ActivityRepository extends JpaRepository<Activity, Long> {
+
+    // une seule ligne : nb activités, capacité totale, participants, activités complètes
+    @Query("SELECT COUNT(a), COALESCE(SUM(a.maxCapacity), 0), COALESCE(SUM(a.currentParticipants), 0), "
+            + "COALESCE(SUM(CASE WHEN a.currentParticipants >= a.maxCapacity THEN 1 ELSE 0 END), 0) "
+            + "FROM Activity a")
+    List<Object[]> aggregateOccupancy();
+
+    // réservation atomique : une seule requête conditionnelle, pas de lecture préalable ni de verrou applicatif
+    @Modifying
+    @Query("UPDATE Activity a SET a.currentParticipants = COALESCE(a.currentParticipants, 0) + :seats "
+            + "WHERE a.id = :id AND COALESCE(a.currentParticipants, 0) + :seats <= a.maxCapacity")
+    int reserveSeats(@Param("id") Long id, @Param("seats") int seats);
+
+    @Modifying
+    @Query("UPDATE Activity a SET a.currentParticipants = "
+            + "CASE WHEN a.currentParticipants > :seats THEN (a.currentParticipants - :seats) ELSE 0 END "
+            + "WHERE a.id = :id")
+    int releaseSeats(@Param("id") Long id, @Param("seats") int seats);
+
+    // pagination par curseur (keyset) : WHERE id > :after ORDER BY id LIMIT :limit
+    List<Activity> findByIdGreaterThanOrderByIdAsc(Long after, Pageable pageable);
+
+    // lots de 500 lignes : curseur serveur sous MySQL (useCursorFetch=true dans l'URL), valide aussi sous H2
+    @QueryHints({
+            @QueryHint(name = org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = org.hibernate.jpa.QueryHints.HINT_READONLY, value = "true")
+    })
+    @Query("SELECT a FROM Activity a ORDER BY a.id")
+    Stream<Activity> streamAll();
 }
@@ -0,0 +1,36 @@
+package com.sportscenter.activity.service;
+
+import com.sportscenter.activity.entity.Activity;
+import com.sportscenter.common.event.DomainEvent;
+import com.sportscenter.common.event.OutboxService;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// événements de l'outbox pour une activité (création, modification et suppression)
+final class ActivityEvents {
+
+    static final String AGGREGATE = "Activity";
+
+    private ActivityEvents() {
+    }
+
+    static OutboxService.Entry updated(Activity activity) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("activityId", activity.getId());
+        payload.put("name", activity.getName());
+        payload.put("coach", activity.getCoach());
+        payload.put("room", activity.getRoom());
+        payload.put("maxCapacity", activity.getMaxCapacity());
+        payload.put("startTime", activity.getStartTime());
+        payload.put("endTime", activity.getEndTime());
+        return new OutboxService.Entry(DomainEvent.ACTIVITY_UPDATED, AGGREGATE, activity.getId(), payload);
+    }
+
+    static OutboxService.Entry deleted(Long activityId) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("activityId", activityId);
+        payload.put("deleted", true);
+        return new OutboxService.Entry(DomainEvent.ACTIVITY_UPDATED, AGGREGATE, activityId, payload);
+    }
+}
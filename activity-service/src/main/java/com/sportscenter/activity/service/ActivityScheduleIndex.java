@@ -0,0 +1,215 @@
+package com.sportscenter.activity.service;
+
+import com.sportscenter.activity.entity.Activity;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * 📅 Index en mémoire des créneaux, trié par heure de début.
+ *
+ * - recherche par plage : un créneau [début, fin) chevauche [from, to) si début < to et fin > from ;
+ *   on ne parcourt que les débuts compris entre from - (durée max) et to ;
+ * - un index par coach et par salle : un conflit se cherche de la même façon, parmi les
+ *   débuts compris entre start - (durée max) et end (sans supposer l'absence de chevauchement
+ *   dans les données déjà en base).
+ *
+ * Lectures sans verrou (skip lists) ; les écritures sont sérialisées.
+ */
+@Component
+public class ActivityScheduleIndex {
+
+    private static final Comparator<SlotKey> ORDER = Comparator
+            .comparing((SlotKey k) -> k.start)
+            .thenComparingLong(k -> k.id);
+
+    private final NavigableMap<SlotKey, Slot> byStart = new ConcurrentSkipListMap<>(ORDER);
+    private final Map<Long, Slot> byId = new ConcurrentHashMap<>();
+    private final Map<String, NavigableMap<SlotKey, Slot>> byCoach = new ConcurrentHashMap<>();
+    private final Map<String, NavigableMap<SlotKey, Slot>> byRoom = new ConcurrentHashMap<>();
+
+    // plus longue durée indexée : borne basse du parcours des recherches par plage
+    private volatile Duration maxDuration = Duration.ZERO;
+
+    public synchronized void rebuild(Iterable<Activity> activities) {
+        byStart.clear();
+        byId.clear();
+        byCoach.clear();
+        byRoom.clear();
+        maxDuration = Duration.ZERO;
+        for (Activity activity : activities) {
+            put(activity);
+        }
+    }
+
+    public synchronized void put(Activity activity) {
+        remove(activity.getId());
+        if (activity.getStartTime() == null || activity.getEndTime() == null) {
+            return;
+        }
+
+        Slot slot = new Slot(activity.getId(), activity.getStartTime(), activity.getEndTime(),
+                normalize(activity.getCoach()), normalize(activity.getRoom()));
+        SlotKey key = slot.key();
+
+        byId.put(slot.id, slot);
+        byStart.put(key, slot);
+        if (slot.coach != null) {
+            byCoach.computeIfAbsent(slot.coach, c -> new ConcurrentSkipListMap<>(ORDER)).put(key, slot);
+        }
+        if (slot.room != null) {
+            byRoom.computeIfAbsent(slot.room, r -> new ConcurrentSkipListMap<>(ORDER)).put(key, slot);
+        }
+
+        Duration duration = Duration.between(slot.start, slot.end);
+        if (duration.compareTo(maxDuration) > 0) {
+            maxDuration = duration;
+        }
+    }
+
+    public synchronized void remove(Long id) {
+        Slot slot = id != null ? byId.remove(id) : null;
+        if (slot == null) {
+            return;
+        }
+        SlotKey key = slot.key();
+        byStart.remove(key);
+        removeFrom(byCoach, slot.coach, key);
+        removeFrom(byRoom, slot.room, key);
+    }
+
+    /**
+     * Ids des créneaux qui chevauchent [from, to), triés par heure de début.
+     */
+    public List<Long> findOverlapping(LocalDateTime from, LocalDateTime to, String coach) {
+        NavigableMap<SlotKey, Slot> source = normalize(coach) == null ? byStart : slotsOf(byCoach, coach);
+        List<Long> ids = new ArrayList<>();
+        if (source == null) {
+            return ids;
+        }
+
+        SlotKey lower = new SlotKey(from.minus(maxDuration), Long.MIN_VALUE);
+        SlotKey upper = new SlotKey(to, Long.MIN_VALUE);
+        for (Slot slot : source.subMap(lower, true, upper, false).values()) {
+            if (slot.end.isAfter(from)) {
+                ids.add(slot.id);
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * Créneau du même coach ou de la même salle qui chevauche [start, end), en ignorant
+     * l'activité {@code selfId} (mise à jour). Null si aucun conflit.
+     */
+    public Conflict findConflict(Long selfId, LocalDateTime start, LocalDateTime end, String coach, String room) {
+        Duration longest = maxDuration;
+        Slot slot = overlapIn(slotsOf(byCoach, coach), selfId, start, end, longest);
+        if (slot != null) {
+            return new Conflict("coach", slot.id);
+        }
+        slot = overlapIn(slotsOf(byRoom, room), selfId, start, end, longest);
+        if (slot != null) {
+            return new Conflict("salle", slot.id);
+        }
+        return null;
+    }
+
+    // un créneau commencé plus tôt peut être long et englober [start, end) : le parcours
+    // remonte jusqu'à start - (durée max), pas seulement jusqu'au voisin immédiat
+    private static Slot overlapIn(NavigableMap<SlotKey, Slot> slots, Long selfId,
+                                  LocalDateTime start, LocalDateTime end, Duration longest) {
+        if (slots == null) {
+            return null;
+        }
+        SlotKey lower = new SlotKey(start.minus(longest), Long.MIN_VALUE);
+        SlotKey upper = new SlotKey(end, Long.MIN_VALUE);
+        for (Slot slot : slots.subMap(lower, true, upper, false).values()) {
+            if (slot.end.isAfter(start) && !slot.id.equals(selfId)) {
+                return slot;
+            }
+        }
+        return null;
+    }
+
+    private static NavigableMap<SlotKey, Slot> slotsOf(Map<String, NavigableMap<SlotKey, Slot>> index,
+                                                       String name) {
+        String key = normalize(name);
+        return key != null ? index.get(key) : null;
+    }
+
+    private static void removeFrom(Map<String, NavigableMap<SlotKey, Slot>> index, String name, SlotKey key) {
+        if (name == null) {
+            return;
+        }
+        NavigableMap<SlotKey, Slot> slots = index.get(name);
+        if (slots != null) {
+            slots.remove(key);
+            if (slots.isEmpty()) {
+                index.remove(name);
+            }
+        }
+    }
+
+    // "Salle A " et "salle a" désignent la même salle
+    private static String normalize(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        return value.trim().toLowerCase();
+    }
+
+    public static class Conflict {
+
+        private final String resource;
+        private final Long activityId;
+
+        Conflict(String resource, Long activityId) {
+            this.resource = resource;
+            this.activityId = activityId;
+        }
+
+        public String getResource() { return resource; }
+        public Long getActivityId() { return activityId; }
+    }
+
+    private static final class SlotKey {
+
+        final LocalDateTime start;
+        final long id;
+
+        SlotKey(LocalDateTime start, long id) {
+            this.start = start;
+            this.id = id;
+        }
+    }
+
+    private static final class Slot {
+
+        final Long id;
+        final LocalDateTime start;
+        final LocalDateTime end;
+        final String coach;
+        final String room;
+
+        Slot(Long id, LocalDateTime start, LocalDateTime end, String coach, String room) {
+            this.id = id;
+            this.start = start;
+            this.end = end;
+            this.coach = coach;
+            this.room = room;
+        }
+
+        SlotKey key() {
+            return new SlotKey(start, id);
+        }
+    }
+}
@@ -1,40 +1,99 @@
 package com.sportscenter.activity.service;
 
 import com.sportscenter.activity.dto.ActivityDTO;
+import com.sportscenter.activity.dto.ActivityStatsDTO;
 import com.sportscenter.activity.entity.Activity;
 import com.sportscenter.activity.repository.ActivityRepository;
+import com.sportscenter.common.event.OutboxService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.server.ResponseStatusException;
 
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.util.ArrayList;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class ActivityService {
 
+    // taille max d'une clause IN envoyée à MySQL
+    private static final int IN_CLAUSE_CHUNK = 500;
+
     @Autowired
     private ActivityRepository activityRepository;
 
+    @Autowired
+    private ActivityScheduleIndex scheduleIndex;
+
+    @Autowired
+    private OutboxService outboxService;
+
+    @Autowired
+    private OccupancyReadModel occupancy;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // vérification de conflit + enregistrement + mise à jour de l'index en une seule étape
+    // (index local : une seule instance d'activity-service fait foi pour le planning) ;
+    // tenu jusqu'à la fin de la transaction, l'index n'étant modifié qu'après le commit
+    private final ReentrantLock scheduleLock = new ReentrantLock();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadScheduleIndex() {
+        scheduleIndex.rebuild(activityRepository.findAll());
+    }
+
+    // chaque écriture publie ActivityUpdated (outbox) dans sa transaction
+    @CacheEvict(value = "activity-list", allEntries = true)
+    @Transactional
     public ActivityDTO createActivity(ActivityDTO dto) {
         Activity activity = new Activity();
         activity.setName(dto.getName());
         activity.setDescription(dto.getDescription());
         activity.setCoach(dto.getCoach());
+        activity.setRoom(dto.getRoom());
         activity.setMaxCapacity(dto.getMaxCapacity());
         activity.setStartTime(dto.getStartTime());
         activity.setEndTime(dto.getEndTime());
-        activity.setCurrentParticipants(dto.getCurrentParticipants() != null ? dto.getCurrentParticipants() : 0);
+        // compteur tenu par les réservations (reserve / release), jamais fourni par le client
+        activity.setCurrentParticipants(0);
 
+        ScheduleUpdate schedule = lockSchedule();
+        checkSchedule(null, activity);
         Activity saved = activityRepository.save(activity);
+        outboxService.record(ActivityEvents.updated(saved));
+        schedule.put(saved);
         return convertToDTO(saved);
     }
 
+    @Cacheable(value = "activities", key = "#id")
     public ActivityDTO getActivity(Long id) {
         Activity activity = activityRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Activité non trouvée: " + id));
         return convertToDTO(activity);
     }
 
+    @Cacheable(value = "activity-list", key = "'all'")
     public List<ActivityDTO> getAllActivities() {
         return activityRepository.findAll()
                 .stream()
@@ -42,6 +101,63 @@ public class ActivityService {
                 .collect(Collectors.toList());
     }
 
+    public List<ActivityDTO> getActivitiesByIds(Collection<Long> ids) {
+        List<Long> distinctIds = new ArrayList<>(new LinkedHashSet<>(ids));
+        List<ActivityDTO> result = new ArrayList<>(distinctIds.size());
+        for (int from = 0; from < distinctIds.size(); from += IN_CLAUSE_CHUNK) {
+            List<Long> chunk = distinctIds.subList(from, Math.min(from + IN_CLAUSE_CHUNK, distinctIds.size()));
+            for (Activity activity : activityRepository.findAllById(chunk)) {
+                result.add(convertToDTO(activity));
+            }
+        }
+        return result;
+    }
+
+    // activités qui chevauchent [from, to), éventuellement pour un seul coach
+    public List<ActivityDTO> getActivitiesBetween(LocalDateTime from, LocalDateTime to, String coach) {
+        List<ActivityDTO> result = getActivitiesByIds(scheduleIndex.findOverlapping(from, to, coach));
+        result.sort(Comparator.comparing(ActivityDTO::getStartTime).thenComparing(ActivityDTO::getId));
+        return result;
+    }
+
+    public List<ActivityDTO> getActivitiesPage(Long after, int limit) {
+        return activityRepository.findByIdGreaterThanOrderByIdAsc(after != null ? after : 0L, PageRequest.of(0, limit))
+                .stream()
+                .map(this::convertToDTO)
+                .collect(Collectors.toList());
+    }
+
+    // le flux JDBC reste ouvert dans la transaction ; chaque entité est détachée
+    // après écriture pour que le contexte de persistance ne grossisse pas
+    @Transactional(readOnly = true)
+    public void streamAllActivities(Consumer<ActivityDTO> consumer) {
+        try (Stream<Activity> activities = activityRepository.streamAll()) {
+            activities.forEach(activity -> {
+                consumer.accept(convertToDTO(activity));
+                entityManager.detach(activity);
+            });
+        }
+    }
+
+    public ActivityStatsDTO getStats() {
+        Object[] row = activityRepository.aggregateOccupancy().get(0);
+
+        ActivityStatsDTO stats = new ActivityStatsDTO();
+        stats.setTotalActivities(((Number) row[0]).longValue());
+        stats.setTotalCapacity(((Number) row[1]).longValue());
+        stats.setTotalParticipants(((Number) row[2]).longValue());
+        stats.setFullActivities(((Number) row[3]).longValue());
+        stats.setFillRate(stats.getTotalCapacity() > 0
+                ? (double) stats.getTotalParticipants() / stats.getTotalCapacity()
+                : 0.0);
+        return stats;
+    }
+
+    @Caching(evict = {
+            @CacheEvict(value = "activities", key = "#id"),
+            @CacheEvict(value = "activity-list", allEntries = true)
+    })
+    @Transactional
     public ActivityDTO updateActivity(Long id, ActivityDTO dto) {
         Activity activity = activityRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Activité non trouvée: " + id));
@@ -49,19 +165,109 @@ public class ActivityService {
         activity.setName(dto.getName());
         activity.setDescription(dto.getDescription());
         activity.setCoach(dto.getCoach());
+        activity.setRoom(dto.getRoom());
         activity.setMaxCapacity(dto.getMaxCapacity());
         activity.setStartTime(dto.getStartTime());
         activity.setEndTime(dto.getEndTime());
-        if (dto.getCurrentParticipants() != null) {
-            activity.setCurrentParticipants(dto.getCurrentParticipants());
-        }
 
+        ScheduleUpdate schedule = lockSchedule();
+        checkSchedule(id, activity);
         Activity updated = activityRepository.save(activity);
+        outboxService.record(ActivityEvents.updated(updated));
+        schedule.put(updated);
         return convertToDTO(updated);
     }
 
+    private void checkSchedule(Long id, Activity activity) {
+        if (activity.getStartTime() == null || activity.getEndTime() == null
+                || !activity.getStartTime().isBefore(activity.getEndTime())) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "L'heure de début doit précéder l'heure de fin");
+        }
+        ActivityScheduleIndex.Conflict conflict = scheduleIndex.findConflict(
+                id, activity.getStartTime(), activity.getEndTime(), activity.getCoach(), activity.getRoom());
+        if (conflict != null) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT,
+                    "Conflit de planning (" + conflict.getResource() + ") avec l'activité " + conflict.getActivityId());
+        }
+    }
+
+    /* ===== Places (appelé par booking-service) ===== */
+
+    // seule l'entrée de l'activité est invalidée : les listes en cache reçoivent l'occupation
+    // du read model à chaque lecture, une réservation ne doit pas vider tout le cache des listes
+    @CacheEvict(value = "activities", key = "#id")
+    @Transactional
+    public boolean reserveSeats(Long id, int seats) {
+        if (activityRepository.reserveSeats(id, seats) == 1) {
+            return true;
+        }
+        if (!activityRepository.existsById(id)) {
+            throw new RuntimeException("Activité non trouvée: " + id);
+        }
+        return false;
+    }
+
+    @CacheEvict(value = "activities", key = "#id")
+    @Transactional
+    public void releaseSeats(Long id, int seats) {
+        if (activityRepository.releaseSeats(id, seats) == 0) {
+            throw new RuntimeException("Activité non trouvée: " + id);
+        }
+    }
+
+    @Caching(evict = {
+            @CacheEvict(value = "activities", key = "#id"),
+            @CacheEvict(value = "activity-list", allEntries = true)
+    })
+    @Transactional
     public void deleteActivity(Long id) {
+        ScheduleUpdate schedule = lockSchedule();
         activityRepository.deleteById(id);
+        outboxService.record(ActivityEvents.deleted(id));
+        schedule.remove(id);
+    }
+
+    // verrou du planning libéré à la fin de la transaction (commit ou rollback)
+    private ScheduleUpdate lockSchedule() {
+        scheduleLock.lock();
+        ScheduleUpdate schedule = new ScheduleUpdate();
+        try {
+            TransactionSynchronizationManager.registerSynchronization(schedule);
+        } catch (RuntimeException e) {
+            scheduleLock.unlock();
+            throw e;
+        }
+        return schedule;
+    }
+
+    /**
+     * Modification de l'index du planning, appliquée seulement si la transaction est validée :
+     * un rollback (contrainte, outbox...) ne laisse pas de créneau fantôme dans l'index.
+     */
+    private final class ScheduleUpdate implements TransactionSynchronization {
+
+        private Activity saved;
+        private Long deletedId;
+
+        void put(Activity activity) { this.saved = activity; }
+        void remove(Long id) { this.deletedId = id; }
+
+        @Override
+        public void afterCommit() {
+            if (saved != null) {
+                scheduleIndex.put(saved);
+            }
+            if (deletedId != null) {
+                occupancy.forget(deletedId);
+                scheduleIndex.remove(deletedId);
+            }
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            scheduleLock.unlock();
+        }
     }
 
     private ActivityDTO convertToDTO(Activity activity) {
@@ -70,6 +276,7 @@ public class ActivityService {
         dto.setName(activity.getName());
         dto.setDescription(activity.getDescription());
         dto.setCoach(activity.getCoach());
+        dto.setRoom(activity.getRoom());
         dto.setMaxCapacity(activity.getMaxCapacity());
         dto.setCurrentParticipants(activity.getCurrentParticipants());
         dto.setStartTime(activity.getStartTime());
@@ -0,0 +1,206 @@
+package com.sportscenter.activity.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.sportscenter.activity.client.BookingClient;
+import com.sportscenter.activity.dto.ActivityDTO;
+import com.sportscenter.activity.dto.ActivityOccupancyDTO;
+import com.sportscenter.common.event.DomainEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 🪑 Occupation des activités (réservations CONFIRMED), tenue à jour en mémoire.
+ *
+ * - un compteur par activité, incrémenté / décrémenté par les événements de
+ *   booking-service (BookingCreated, BookingConfirmed, BookingCancelled) ;
+ * - livraison « au moins une fois » : un même événement n'est compté qu'une fois ;
+ * - recalage périodique sur le COUNT de booking-service, qui corrige toute dérive
+ *   (événements perdus ou en double).
+ *
+ * Chaque compteur porte une version, incrémentée à chaque événement : le recalage ne remplace
+ * que les compteurs restés inchangés pendant l'appel à booking-service. Une activité qui a
+ * bougé entre-temps garde sa valeur et attend le tour suivant. Un événement publié après
+ * le COUNT mais déjà compté dedans (retard de l'outbox) reste une dérive possible, elle aussi
+ * corrigée au tour suivant.
+ *
+ * Tant qu'une activité n'a pas été recalée, la colonne current_participants sert de repli.
+ */
+@Component
+public class OccupancyReadModel {
+
+    private static final Logger log = LoggerFactory.getLogger(OccupancyReadModel.class);
+
+    private static final String CONFIRMED = "CONFIRMED";
+
+    private final BookingClient bookingClient;
+    private final ConcurrentMap<Long, Occupancy> confirmed = new ConcurrentHashMap<>();
+    private final Cache<String, Boolean> seenEvents = Caffeine.newBuilder()
+            .maximumSize(100_000)
+            .build();
+    private volatile boolean reconciled;
+
+    public OccupancyReadModel(BookingClient bookingClient) {
+        this.bookingClient = bookingClient;
+    }
+
+    @EventListener(condition = "#event.aggregateType == 'Booking'")
+    public void onBookingEvent(DomainEvent event) {
+        if (event.getId() != null && seenEvents.asMap().putIfAbsent(event.getId(), Boolean.TRUE) != null) {
+            return;
+        }
+        Long activityId = event.getLong("activityId");
+        int delta = delta(event);
+        if (activityId != null && delta != 0) {
+            occupancy(activityId).add(delta);
+        }
+    }
+
+    private static int delta(DomainEvent event) {
+        switch (event.getType()) {
+            case DomainEvent.BOOKING_CREATED:
+                return CONFIRMED.equals(event.getString("status")) ? 1 : 0;
+            case DomainEvent.BOOKING_CONFIRMED:
+                return 1;
+            case DomainEvent.BOOKING_CANCELLED:
+                return CONFIRMED.equals(event.getString("previousStatus")) ? -1 : 0;
+            default:
+                return 0;
+        }
+    }
+
+    @Scheduled(initialDelayString = "${activity.occupancy.initial-delay:10000}",
+            fixedDelayString = "${activity.occupancy.reconcile-interval:300000}")
+    public void reconcile() {
+        // versions relevées avant l'appel : tout événement reçu pendant l'appel les fait changer
+        Map<Long, Long> versions = new HashMap<>();
+        confirmed.forEach((activityId, occupancy) -> versions.put(activityId, occupancy.version()));
+
+        Map<Long, Long> snapshot = new HashMap<>();
+        try {
+            for (ActivityOccupancyDTO occupancy : bookingClient.getOccupancy()) {
+                snapshot.put(occupancy.getActivityId(), occupancy.getConfirmed());
+            }
+        } catch (RuntimeException e) {
+            log.warn("Recalage de l'occupation impossible (booking-service indisponible)", e);
+            return;
+        }
+
+        int corrected = 0;
+        int deferred = 0;
+        Set<Long> known = new HashSet<>(confirmed.keySet());
+        known.addAll(snapshot.keySet());
+        for (Long activityId : known) {
+            Occupancy occupancy = occupancy(activityId);
+            long expected = snapshot.getOrDefault(activityId, 0L);
+            switch (occupancy.reset(versions.getOrDefault(activityId, 0L), expected)) {
+                case CORRECTED:
+                    corrected++;
+                    break;
+                case CHANGED:
+                    deferred++;
+                    break;
+                default:
+                    break;
+            }
+        }
+        if (corrected > 0 && reconciled) {
+            log.info("Occupation recalée sur booking-service pour {} activité(s)", corrected);
+        }
+        if (deferred > 0) {
+            log.debug("Occupation modifiée pendant le recalage pour {} activité(s), reportée au tour suivant", deferred);
+        }
+        reconciled = true;
+    }
+
+    /**
+     * Copie du DTO avec currentParticipants et seatsLeft d'après le read model : une lecture
+     * de compteur par ligne. Le DTO reçu (souvent celui d'un cache) n'est pas modifié.
+     */
+    public ActivityDTO apply(ActivityDTO cached) {
+        ActivityDTO dto = cached.copy();
+        Occupancy occupancy = confirmed.get(dto.getId());
+        if (occupancy != null) {
+            Long value = occupancy.valueIfReconciled();
+            if (value != null) {
+                dto.setCurrentParticipants((int) Math.max(0, value));
+            }
+        } else if (reconciled) {
+            dto.setCurrentParticipants(0);
+        }
+        return withSeatsLeft(dto);
+    }
+
+    /**
+     * Copie du DTO avec seatsLeft calculé sur la colonne current_participants, sans le read
+     * model : c'est le compteur de places sur lequel booking-service s'aligne.
+     */
+    public ActivityDTO fromDatabase(ActivityDTO cached) {
+        return withSeatsLeft(cached.copy());
+    }
+
+    private static ActivityDTO withSeatsLeft(ActivityDTO dto) {
+        int taken = dto.getCurrentParticipants() != null ? dto.getCurrentParticipants() : 0;
+        int capacity = dto.getMaxCapacity() != null ? dto.getMaxCapacity() : 0;
+        dto.setSeatsLeft(Math.max(0, capacity - taken));
+        return dto;
+    }
+
+    // activité supprimée : plus rien à compter
+    public void forget(Long activityId) {
+        confirmed.remove(activityId);
+    }
+
+    // compteur créé après un recalage réussi : il part de zéro et voit tous les événements suivants
+    private Occupancy occupancy(Long activityId) {
+        return confirmed.computeIfAbsent(activityId, id -> new Occupancy(reconciled));
+    }
+
+    private enum ResetResult { UNCHANGED, CORRECTED, CHANGED }
+
+    /**
+     * Compteur + version sous le même verrou : un recalage ne peut pas écraser un événement.
+     *
+     * Remplace le LongAdder (compteur réparti) de la première version : un LongAdder ne peut
+     * pas être remis à une valeur en même temps qu'on vérifie la version, et un événement compté
+     * entre la vérification et la remise à zéro serait perdu. La contention est faible (un verrou
+     * par activité, événements d'une activité espacés), le moniteur non contendu suffit.
+     */
+    private static final class Occupancy {
+
+        private long value;
+        private long version;
+        private boolean reconciled;
+
+        Occupancy(boolean reconciled) { this.reconciled = reconciled; }
+
+        synchronized void add(int delta) {
+            value += delta;
+            version++;
+        }
+
+        synchronized long version() { return version; }
+
+        synchronized Long valueIfReconciled() { return reconciled ? value : null; }
+
+        synchronized ResetResult reset(long seenVersion, long expected) {
+            if (version != seenVersion) {
+                return ResetResult.CHANGED;
+            }
+            boolean drift = value != expected;
+            value = expected;
+            reconciled = true;
+            return drift ? ResetResult.CORRECTED : ResetResult.UNCHANGED;
+        }
+    }
+}
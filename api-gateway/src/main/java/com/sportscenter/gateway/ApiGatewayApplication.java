@@ -4,7 +4,8 @@ import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.cloud.client.discovery.EnableDiscoveryClient;
 
-@SpringBootApplication
+// module common : traces (échantillonnage en fin de trace, export NDJSON)
+@SpringBootApplication(scanBasePackages = {"com.sportscenter.gateway", "com.sportscenter.common.tracing"})
 @EnableDiscoveryClient
 public class ApiGatewayApplication {
 
@@ -0,0 +1,39 @@
+package com.sportscenter.gateway.admission;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 📊 Compteur gateway.admission{route, limiter=rate|concurrency, outcome=allowed|rejected}.
+ */
+@Component
+public class AdmissionMetrics {
+
+    private static final String METER_NAME = "gateway.admission";
+
+    private final MeterRegistry registry;
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+
+    public AdmissionMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    public Counter counter(String routeId, String limiter, boolean allowed) {
+        String outcome = allowed ? "allowed" : "rejected";
+        return counters.computeIfAbsent(routeId + '|' + limiter + '|' + outcome,
+                key -> Counter.builder(METER_NAME)
+                        .description("Requêtes admises ou rejetées par la gateway")
+                        .tag("route", routeId)
+                        .tag("limiter", limiter)
+                        .tag("outcome", outcome)
+                        .register(registry));
+    }
+
+    public MeterRegistry getRegistry() {
+        return registry;
+    }
+}
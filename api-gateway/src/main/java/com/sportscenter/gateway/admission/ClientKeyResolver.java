@@ -0,0 +1,29 @@
+package com.sportscenter.gateway.admission;
+
+import com.sportscenter.gateway.security.JwtAuthenticationFilter;
+import org.springframework.cloud.gateway.filter.ratelimit.KeyResolver;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+
+/**
+ * 🔑 Clé de quota : sujet du JWT (posé par JwtAuthenticationFilter), sinon IP du client.
+ */
+@Component
+public class ClientKeyResolver implements KeyResolver {
+
+    @Override
+    public Mono<String> resolve(ServerWebExchange exchange) {
+        String user = exchange.getRequest().getHeaders().getFirst(JwtAuthenticationFilter.USER_HEADER);
+        if (user != null) {
+            return Mono.just("user:" + user);
+        }
+        InetSocketAddress remote = exchange.getRequest().getRemoteAddress();
+        if (remote != null && remote.getAddress() != null) {
+            return Mono.just("ip:" + remote.getAddress().getHostAddress());
+        }
+        return Mono.empty();
+    }
+}
@@ -0,0 +1,93 @@
+package com.sportscenter.gateway.admission;
+
+import io.micrometer.core.instrument.Gauge;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 🚦 Délestage : au-delà de maxInFlight requêtes en cours vers le service de la route,
+ * on répond immédiatement (503 par défaut) au lieu de laisser s'accumuler la file Tomcat.
+ */
+@Component
+public class ConcurrencyLimitGatewayFilterFactory
+        extends AbstractGatewayFilterFactory<ConcurrencyLimitGatewayFilterFactory.Config> {
+
+    private static final String RETRY_AFTER_SECONDS = "1";
+
+    private final AdmissionMetrics metrics;
+
+    public ConcurrencyLimitGatewayFilterFactory(AdmissionMetrics metrics) {
+        super(Config.class);
+        this.metrics = metrics;
+    }
+
+    @Override
+    public List<String> shortcutFieldOrder() {
+        return List.of("maxInFlight", "status");
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicBoolean gaugeRegistered = new AtomicBoolean();
+
+        return (exchange, chain) -> {
+            String routeId = routeId(exchange);
+            if (gaugeRegistered.compareAndSet(false, true)) {
+                Gauge.builder("gateway.admission.in-flight", inFlight, AtomicInteger::get)
+                        .description("Requêtes en cours vers le service de la route")
+                        .tag("route", routeId)
+                        .register(metrics.getRegistry());
+            }
+
+            if (inFlight.incrementAndGet() > config.getMaxInFlight()) {
+                inFlight.decrementAndGet();
+                metrics.counter(routeId, "concurrency", false).increment();
+                return reject(exchange, config.getStatus());
+            }
+
+            metrics.counter(routeId, "concurrency", true).increment();
+            return filter(exchange, chain, inFlight);
+        };
+    }
+
+    private static Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain,
+                                     AtomicInteger inFlight) {
+        // doFinally : décrémenté aussi en cas d'erreur ou d'annulation par le client
+        return chain.filter(exchange).doFinally(signal -> inFlight.decrementAndGet());
+    }
+
+    private static Mono<Void> reject(ServerWebExchange exchange, HttpStatus status) {
+        exchange.getResponse().setStatusCode(status);
+        exchange.getResponse().getHeaders().set("Retry-After", RETRY_AFTER_SECONDS);
+        return exchange.getResponse().setComplete();
+    }
+
+    private static String routeId(ServerWebExchange exchange) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        return route != null ? route.getId() : "unknown";
+    }
+
+    public static class Config {
+
+        private int maxInFlight = 200;
+        private HttpStatus status = HttpStatus.SERVICE_UNAVAILABLE;
+
+        public int getMaxInFlight() { return maxInFlight; }
+        public void setMaxInFlight(int maxInFlight) { this.maxInFlight = maxInFlight; }
+
+        public HttpStatus getStatus() { return status; }
+        public void setStatus(HttpStatus status) { this.status = status; }
+    }
+}
@@ -0,0 +1,170 @@
+package com.sportscenter.gateway.admission;
+
+import io.micrometer.core.instrument.Counter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.ratelimit.AbstractRateLimiter;
+import org.springframework.cloud.gateway.support.ConfigurationService;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 🪣 Token bucket en mémoire (sans Redis), une instance de gateway = un quota.
+ *
+ * Utilisé par le filtre RequestRateLimiter ; paramétré par route dans application.yml :
+ * <pre>
+ *   - name: RequestRateLimiter
+ *     args:
+ *       in-memory-rate-limiter.replenish-rate: 20
+ *       in-memory-rate-limiter.burst-capacity: 40
+ * </pre>
+ *
+ * Au plus max-buckets seaux : à la limite, on oublie d'abord les seaux qui seraient pleins
+ * après recharge (sans effet sur les décisions), puis les moins récemment utilisés.
+ */
+@Component
+public class InMemoryRateLimiter extends AbstractRateLimiter<InMemoryRateLimiter.Config> {
+
+    public static final String CONFIGURATION_PROPERTY_NAME = "in-memory-rate-limiter";
+
+    private static final String REMAINING_HEADER = "X-RateLimit-Remaining";
+    private static final String REPLENISH_RATE_HEADER = "X-RateLimit-Replenish-Rate";
+    private static final String BURST_CAPACITY_HEADER = "X-RateLimit-Burst-Capacity";
+
+    private final Config defaultConfig = new Config();
+    private final int maxBuckets;
+    private final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+    // création de seau sérialisée : la borne max-buckets est stricte
+    private final Object creationLock = new Object();
+    private final AdmissionMetrics metrics;
+
+    public InMemoryRateLimiter(ConfigurationService configurationService,
+                               AdmissionMetrics metrics,
+                               @Value("${gateway.admission.max-buckets:100000}") int maxBuckets) {
+        super(Config.class, CONFIGURATION_PROPERTY_NAME, configurationService);
+        this.metrics = metrics;
+        this.maxBuckets = maxBuckets;
+    }
+
+    @Override
+    public Mono<Response> isAllowed(String routeId, String id) {
+        Config config = getConfig().getOrDefault(routeId, defaultConfig);
+        long now = System.nanoTime();
+
+        String key = routeId + ':' + id;
+        TokenBucket bucket = buckets.get(key);
+        if (bucket == null) {
+            bucket = createBucket(key, routeId, config, now);
+        }
+
+        long remaining = bucket.tryConsume(config, config.getRequestedTokens(), now);
+        boolean allowed = remaining >= 0;
+        counter(routeId, allowed).increment();
+
+        Map<String, String> headers = new HashMap<>();
+        headers.put(REMAINING_HEADER, String.valueOf(Math.max(remaining, 0)));
+        headers.put(REPLENISH_RATE_HEADER, String.valueOf(config.getReplenishRate()));
+        headers.put(BURST_CAPACITY_HEADER, String.valueOf(config.getBurstCapacity()));
+        return Mono.just(new Response(allowed, headers));
+    }
+
+    private Counter counter(String routeId, boolean allowed) {
+        return metrics.counter(routeId, "rate", allowed);
+    }
+
+    private TokenBucket createBucket(String key, String routeId, Config config, long now) {
+        synchronized (creationLock) {
+            TokenBucket existing = buckets.get(key);
+            if (existing != null) {
+                return existing;
+            }
+            if (buckets.size() >= maxBuckets) {
+                evict(now);
+            }
+            TokenBucket bucket = new TokenBucket(routeId, config.getBurstCapacity(), now);
+            buckets.put(key, bucket);
+            return bucket;
+        }
+    }
+
+    // appelé sous creationLock, quand la table est pleine
+    private void evict(long now) {
+        // un seau qui serait plein après recharge ne porte plus d'information : on peut l'oublier
+        buckets.values().removeIf(bucket -> bucket.isFull(configOf(bucket), now));
+
+        // tous encore actifs : les moins récemment utilisés partent, jusqu'à 90 % de la borne
+        // (évite de refaire ce parcours à chaque nouveau client)
+        int excess = buckets.size() - (maxBuckets - Math.max(1, maxBuckets / 10));
+        if (excess <= 0) {
+            return;
+        }
+        List<Map.Entry<String, Long>> lastUse = new ArrayList<>(buckets.size());
+        buckets.forEach((key, bucket) -> lastUse.add(Map.entry(key, bucket.lastRefillNanos())));
+        lastUse.sort(Map.Entry.comparingByValue());
+        for (int i = 0; i < excess && i < lastUse.size(); i++) {
+            buckets.remove(lastUse.get(i).getKey());
+        }
+    }
+
+    private Config configOf(TokenBucket bucket) {
+        return getConfig().getOrDefault(bucket.routeId, defaultConfig);
+    }
+
+    static final class TokenBucket {
+
+        private final String routeId;
+        private double tokens;
+        private long lastRefillNanos;
+
+        TokenBucket(String routeId, int capacity, long now) {
+            this.routeId = routeId;
+            this.tokens = capacity;
+            this.lastRefillNanos = now;
+        }
+
+        /**
+         * @return jetons restants après consommation, ou -1 si la requête est refusée
+         */
+        synchronized long tryConsume(Config config, int requested, long now) {
+            double refill = (now - lastRefillNanos) / 1e9 * config.getReplenishRate();
+            tokens = Math.min(config.getBurstCapacity(), tokens + refill);
+            lastRefillNanos = now;
+            if (tokens < requested) {
+                return -1;
+            }
+            tokens -= requested;
+            return (long) tokens;
+        }
+
+        // plein une fois rechargé : le recréer à neuf donnerait exactement les mêmes décisions
+        synchronized boolean isFull(Config config, long now) {
+            double refill = (now - lastRefillNanos) / 1e9 * config.getReplenishRate();
+            return tokens + refill >= config.getBurstCapacity();
+        }
+
+        synchronized long lastRefillNanos() {
+            return lastRefillNanos;
+        }
+    }
+
+    public static class Config {
+
+        private int replenishRate = 50;
+        private int burstCapacity = 100;
+        private int requestedTokens = 1;
+
+        public int getReplenishRate() { return replenishRate; }
+        public void setReplenishRate(int replenishRate) { this.replenishRate = replenishRate; }
+
+        public int getBurstCapacity() { return burstCapacity; }
+        public void setBurstCapacity(int burstCapacity) { this.burstCapacity = burstCapacity; }
+
+        public int getRequestedTokens() { return requestedTokens; }
+        public void setRequestedTokens(int requestedTokens) { this.requestedTokens = requestedTokens; }
+    }
+}
@@ -1,10 +1,9 @@
 package com.sportscenter.gateway.auth;
 
+import com.sportscenter.gateway.security.JwtService;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.nio.charset.StandardCharsets;
-import java.util.Base64;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -12,6 +11,12 @@ import java.util.Map;
 @RequestMapping("/auth")
 public class AuthController {
 
+    private final JwtService jwtService;
+
+    public AuthController(JwtService jwtService) {
+        this.jwtService = jwtService;
+    }
+
     @PostMapping("/login")
     public ResponseEntity<?> login(@RequestBody LoginRequest request) {
 
@@ -21,29 +26,13 @@ public class AuthController {
             return ResponseEntity.status(401).body("Invalid credentials");
         }
 
-        // 🎫 Génération JWT simplifié
-        String token = generateFakeJwt(request.getUsername());
+        // 🎫 JWT signé (HMAC) avec rôle et expiration
+        String token = jwtService.generateToken(request.getUsername(), "ADMIN");
 
-        Map<String, String> response = new HashMap<>();
+        Map<String, Object> response = new HashMap<>();
         response.put("token", token);
+        response.put("expiresIn", jwtService.getExpiration().getSeconds());
 
         return ResponseEntity.ok(response);
     }
-
-    private String generateFakeJwt(String username) {
-
-        String header = Base64.getEncoder()
-                .encodeToString("{\"alg\":\"HS256\",\"typ\":\"JWT\"}"
-                .getBytes(StandardCharsets.UTF_8));
-
-        String payload = Base64.getEncoder()
-                .encodeToString((
-                        "{\"sub\":\"" + username + "\",\"role\":\"USER\"}"
-                ).getBytes(StandardCharsets.UTF_8));
-
-        String signature = Base64.getEncoder()
-                .encodeToString("signature".getBytes());
-
-        return header + "." + payload + "." + signature;
-    }
 }
@@ -0,0 +1,108 @@
+package com.sportscenter.gateway.cache;
+
+import org.springframework.http.MediaType;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Cache mémoire d'une route : LRU borné en octets, avec durée de vie par entrée.
+ */
+public class ResponseCache {
+
+    private final long maxBytes;
+    private final LinkedHashMap<String, CachedResponse> entries = new LinkedHashMap<>(64, 0.75f, true);
+    private long currentBytes;
+
+    public ResponseCache(long maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    public synchronized CachedResponse get(String key) {
+        CachedResponse cached = entries.get(key);
+        if (cached == null) {
+            return null;
+        }
+        if (cached.isExpired()) {
+            remove(key);
+            return null;
+        }
+        return cached;
+    }
+
+    public synchronized void put(String key, CachedResponse response) {
+        if (response.getBody().length > maxBytes) {
+            return;
+        }
+        remove(key);
+        entries.put(key, response);
+        currentBytes += response.getBody().length;
+
+        // éviction des moins récemment utilisées jusqu'à repasser sous la limite
+        Iterator<Map.Entry<String, CachedResponse>> it = entries.entrySet().iterator();
+        while (currentBytes > maxBytes && it.hasNext()) {
+            currentBytes -= it.next().getValue().getBody().length;
+            it.remove();
+        }
+    }
+
+    /**
+     * Écriture sur un chemin : retire les entrées de ce chemin, de ses parents (listes)
+     * et de ses sous-ressources, quel que soit l'utilisateur ou la query string.
+     */
+    public synchronized void evictRelated(String path) {
+        Iterator<CachedResponse> it = entries.values().iterator();
+        while (it.hasNext()) {
+            CachedResponse cached = it.next();
+            if (related(cached.getPath(), path)) {
+                currentBytes -= cached.getBody().length;
+                it.remove();
+            }
+        }
+    }
+
+    private static boolean related(String cachedPath, String writtenPath) {
+        return isSameOrAncestor(cachedPath, writtenPath) || isSameOrAncestor(writtenPath, cachedPath);
+    }
+
+    private static boolean isSameOrAncestor(String ancestor, String path) {
+        return path.startsWith(ancestor)
+                && (path.length() == ancestor.length()
+                || path.charAt(ancestor.length()) == '/'
+                || ancestor.endsWith("/"));
+    }
+
+    private void remove(String key) {
+        CachedResponse removed = entries.remove(key);
+        if (removed != null) {
+            currentBytes -= removed.getBody().length;
+        }
+    }
+
+    public static class CachedResponse {
+
+        private final String path;
+        private final MediaType contentType;
+        private final String etag;
+        private final byte[] body;
+        private final long expiresAt;
+
+        public CachedResponse(String path, MediaType contentType, String etag, byte[] body, long expiresAt) {
+            this.path = path;
+            this.contentType = contentType;
+            this.etag = etag;
+            this.body = body;
+            this.expiresAt = expiresAt;
+        }
+
+        public String getPath() { return path; }
+        public MediaType getContentType() { return contentType; }
+        public String getEtag() { return etag; }
+        public byte[] getBody() { return body; }
+
+        boolean isExpired() {
+            return System.currentTimeMillis() >= expiresAt;
+        }
+    }
+}
@@ -0,0 +1,251 @@
+package com.sportscenter.gateway.cache;
+
+import com.sportscenter.gateway.security.JwtAuthenticationFilter;
+import org.reactivestreams.Publisher;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.cloud.gateway.filter.OrderedGatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.ByteArrayOutputStream;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 🗄️ Cache des GET par route, par utilisateur authentifié et par chemin, avec revalidation ETag / If-None-Match.
+ *
+ * Une requête non-GET retire les entrées du chemin écrit, de ses parents et de ses sous-ressources.
+ * Le client peut forcer un passage direct avec "Cache-Control: no-cache" ; "no-store" (requête ou
+ * réponse) et "private" (réponse) ne sont jamais mis en cache.
+ */
+@Component
+public class ResponseCacheGatewayFilterFactory
+        extends AbstractGatewayFilterFactory<ResponseCacheGatewayFilterFactory.Config> {
+
+    private static final String CACHE_STATUS_HEADER = "X-Cache";
+
+    public ResponseCacheGatewayFilterFactory() {
+        super(Config.class);
+    }
+
+    @Override
+    public List<String> shortcutFieldOrder() {
+        return List.of("ttl", "maxBytes");
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        ResponseCache cache = new ResponseCache(config.getMaxBytes().toBytes());
+        // avant NettyWriteResponseFilter pour intercepter le corps de la réponse
+        return new OrderedGatewayFilter(
+                (exchange, chain) -> filter(exchange, chain, cache, config),
+                NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER - 1);
+    }
+
+    private Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain,
+                              ResponseCache cache, Config config) {
+        ServerHttpRequest request = exchange.getRequest();
+
+        if (request.getMethod() != HttpMethod.GET) {
+            String path = request.getURI().getRawPath();
+            return chain.filter(exchange).doFinally(signal -> cache.evictRelated(path));
+        }
+
+        // sans identité vérifiée, avec "no-store" ou en flux NDJSON : aucune lecture ni écriture du cache
+        // (la clé ne tient pas compte de l'en-tête Accept)
+        String user = request.getHeaders().getFirst(JwtAuthenticationFilter.USER_HEADER);
+        String cacheControl = request.getHeaders().getCacheControl();
+        if (user == null || hasDirective(cacheControl, "no-store") || acceptsNdjson(request)) {
+            return chain.filter(exchange);
+        }
+
+        String key = cacheKey(request, user);
+        if (!hasDirective(cacheControl, "no-cache")) {
+            ResponseCache.CachedResponse cached = cache.get(key);
+            if (cached != null) {
+                return writeCached(exchange, cached);
+            }
+        }
+
+        ServerHttpResponse response = new CachingResponseDecorator(exchange, key, cache, config);
+        return chain.filter(exchange.mutate().response(response).build());
+    }
+
+    private Mono<Void> writeCached(ServerWebExchange exchange, ResponseCache.CachedResponse cached) {
+        ServerHttpResponse response = exchange.getResponse();
+        response.getHeaders().setETag(cached.getEtag());
+        response.getHeaders().set(CACHE_STATUS_HEADER, "HIT");
+
+        if (matchesEtag(exchange.getRequest(), cached.getEtag())) {
+            response.setStatusCode(HttpStatus.NOT_MODIFIED);
+            return response.setComplete();
+        }
+
+        response.setStatusCode(HttpStatus.OK);
+        response.getHeaders().setContentType(cached.getContentType());
+        response.getHeaders().setContentLength(cached.getBody().length);
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(cached.getBody())));
+    }
+
+    // la réponse peut dépendre de l'appelant : l'identité vérifiée par JwtAuthenticationFilter
+    // (sujet + rôle, en-têtes réécrits par la gateway) fait partie de la clé, pas le jeton brut
+    private static String cacheKey(ServerHttpRequest request, String user) {
+        String role = request.getHeaders().getFirst(JwtAuthenticationFilter.ROLE_HEADER);
+        String query = request.getURI().getRawQuery();
+        return user + '|' + (role != null ? role : "") + ' '
+                + request.getURI().getRawPath()
+                + (query != null ? '?' + query : "");
+    }
+
+    private static boolean hasDirective(String cacheControl, String directive) {
+        if (cacheControl == null) {
+            return false;
+        }
+        for (String part : cacheControl.split(",")) {
+            String name = part.trim();
+            int eq = name.indexOf('=');
+            if ((eq < 0 ? name : name.substring(0, eq).trim()).equalsIgnoreCase(directive)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean acceptsNdjson(ServerHttpRequest request) {
+        for (MediaType accepted : request.getHeaders().getAccept()) {
+            if (MediaType.APPLICATION_NDJSON.equalsTypeAndSubtype(accepted)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean matchesEtag(ServerHttpRequest request, String etag) {
+        return request.getHeaders().getIfNoneMatch().contains(etag);
+    }
+
+    private static final class CachingResponseDecorator extends ServerHttpResponseDecorator {
+
+        private final ServerHttpRequest request;
+        private final String key;
+        private final ResponseCache cache;
+        private final Config config;
+
+        CachingResponseDecorator(ServerWebExchange exchange, String key, ResponseCache cache, Config config) {
+            super(exchange.getResponse());
+            this.request = exchange.getRequest();
+            this.key = key;
+            this.cache = cache;
+            this.config = config;
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            MediaType contentType = getHeaders().getContentType();
+            long contentLength = getHeaders().getContentLength();
+
+            // erreurs, flux NDJSON, réponses no-store / private et trop grosses : transmises telles quelles
+            String cacheControl = getHeaders().getCacheControl();
+            if (getStatusCode() != HttpStatus.OK
+                    || MediaType.APPLICATION_NDJSON.isCompatibleWith(contentType)
+                    || hasDirective(cacheControl, "no-store")
+                    || hasDirective(cacheControl, "private")
+                    || contentLength > config.getMaxEntryBytes().toBytes()) {
+                return super.writeWith(body);
+            }
+            if (contentLength < 0) {
+                return writeStreaming(body, contentType);
+            }
+
+            return DataBufferUtils.join(Flux.from(body)).flatMap(buffer -> {
+                byte[] bytes = new byte[buffer.readableByteCount()];
+                buffer.read(bytes);
+                DataBufferUtils.release(buffer);
+
+                String etag = '"' + DigestUtils.md5DigestAsHex(bytes) + '"';
+                getHeaders().setETag(etag);
+                getHeaders().set(CACHE_STATUS_HEADER, "MISS");
+
+                if (bytes.length <= config.getMaxEntryBytes().toBytes()) {
+                    long expiresAt = System.currentTimeMillis() + config.getTtl().toMillis();
+                    cache.put(key, new ResponseCache.CachedResponse(request.getURI().getRawPath(), contentType, etag, bytes, expiresAt));
+                }
+
+                if (matchesEtag(request, etag)) {
+                    setStatusCode(HttpStatus.NOT_MODIFIED);
+                    getHeaders().remove(HttpHeaders.CONTENT_LENGTH);
+                    return setComplete();
+                }
+                return super.writeWith(Mono.just(bufferFactory().wrap(bytes)));
+            });
+        }
+
+        // longueur inconnue (chunked) : les morceaux partent dès leur arrivée, copiés tant que le total
+        // reste sous max-entry-bytes ; l'ETag n'est connu qu'à la fin et sert à partir de la prochaine requête
+        private Mono<Void> writeStreaming(Publisher<? extends DataBuffer> body, MediaType contentType) {
+            long maxEntryBytes = config.getMaxEntryBytes().toBytes();
+            ByteArrayOutputStream copy = new ByteArrayOutputStream();
+            AtomicBoolean tooLarge = new AtomicBoolean();
+            getHeaders().set(CACHE_STATUS_HEADER, "MISS");
+
+            Flux<? extends DataBuffer> passThrough = Flux.from(body)
+                    .doOnNext(buffer -> {
+                        if (tooLarge.get()) {
+                            return;
+                        }
+                        int size = buffer.readableByteCount();
+                        if (copy.size() + size > maxEntryBytes) {
+                            tooLarge.set(true);
+                            copy.reset();
+                            return;
+                        }
+                        // copie sans toucher la position de lecture du tampon transmis
+                        byte[] chunk = new byte[size];
+                        buffer.asByteBuffer().get(chunk);
+                        copy.write(chunk, 0, size);
+                    })
+                    .doOnComplete(() -> {
+                        if (!tooLarge.get()) {
+                            byte[] bytes = copy.toByteArray();
+                            String etag = '"' + DigestUtils.md5DigestAsHex(bytes) + '"';
+                            long expiresAt = System.currentTimeMillis() + config.getTtl().toMillis();
+                            cache.put(key, new ResponseCache.CachedResponse(request.getURI().getRawPath(), contentType, etag, bytes, expiresAt));
+                        }
+                    });
+            return super.writeWith(passThrough);
+        }
+    }
+
+    public static class Config {
+
+        private Duration ttl = Duration.ofSeconds(30);
+        private DataSize maxBytes = DataSize.ofMegabytes(10);
+        private DataSize maxEntryBytes = DataSize.ofKilobytes(512);
+
+        public Duration getTtl() { return ttl; }
+        public void setTtl(Duration ttl) { this.ttl = ttl; }
+
+        public DataSize getMaxBytes() { return maxBytes; }
+        public void setMaxBytes(DataSize maxBytes) { this.maxBytes = maxBytes; }
+
+        public DataSize getMaxEntryBytes() { return maxEntryBytes; }
+        public void setMaxEntryBytes(DataSize maxEntryBytes) { this.maxEntryBytes = maxEntryBytes; }
+    }
+}
@@ -61,7 +61,10 @@ public class SecurityConfig {
         ));
 
         config.setAllowedHeaders(List.of("*"));
-        config.setExposedHeaders(List.of("Authorization"));
+        config.setExposedHeaders(List.of(
+            "Authorization", "X-Next-Cursor", "X-RateLimit-Remaining", "Retry-After",
+            "Idempotent-Replayed"
+        ));
 
         // ⚠️ Obligatoire (credentials ≠ *)
         config.setAllowCredentials(true);
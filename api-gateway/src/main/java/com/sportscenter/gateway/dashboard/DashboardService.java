@@ -0,0 +1,69 @@
+package com.sportscenter.gateway.dashboard;
+
+import com.sportscenter.gateway.security.JwtAuthenticationFilter;
+import org.springframework.cloud.client.loadbalancer.LoadBalanced;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Service
+public class DashboardService {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(3);
+
+    private static final ParameterizedTypeReference<Map<String, Object>> JSON_OBJECT =
+            new ParameterizedTypeReference<Map<String, Object>>() {};
+
+    // 🔐 identité posée par JwtAuthenticationFilter, attendue par les services
+    private static final List<String> FORWARDED_HEADERS = List.of(
+            HttpHeaders.AUTHORIZATION,
+            JwtAuthenticationFilter.USER_HEADER,
+            JwtAuthenticationFilter.ROLE_HEADER,
+            JwtAuthenticationFilter.GATEWAY_SECRET_HEADER);
+
+    private final WebClient webClient;
+
+    public DashboardService(@LoadBalanced WebClient.Builder webClientBuilder) {
+        this.webClient = webClientBuilder.build();
+    }
+
+    // 📊 Les 3 appels partent en parallèle, la réponse a une taille fixe
+    public Mono<Map<String, Object>> getDashboard(HttpHeaders incoming) {
+        return Mono.zip(
+                        fetchStats("http://member-service/api/members/stats", incoming),
+                        fetchStats("http://activity-service/api/activities/stats", incoming),
+                        fetchStats("http://booking-service/api/bookings/stats", incoming))
+                .map(stats -> {
+                    Map<String, Object> dashboard = new LinkedHashMap<>();
+                    dashboard.put("members", stats.getT1());
+                    dashboard.put("activities", stats.getT2());
+                    dashboard.put("bookings", stats.getT3());
+                    return dashboard;
+                });
+    }
+
+    // ⚠️ Un service en panne ne bloque pas tout le tableau de bord
+    private Mono<Map<String, Object>> fetchStats(String uri, HttpHeaders incoming) {
+        return webClient.get()
+                .uri(uri)
+                .headers(headers -> {
+                    for (String name : FORWARDED_HEADERS) {
+                        String value = incoming.getFirst(name);
+                        if (value != null) {
+                            headers.set(name, value);
+                        }
+                    }
+                })
+                .retrieve()
+                .bodyToMono(JSON_OBJECT)
+                .timeout(TIMEOUT)
+                .onErrorResume(e -> Mono.just(Map.of("error", "Service indisponible")));
+    }
+}
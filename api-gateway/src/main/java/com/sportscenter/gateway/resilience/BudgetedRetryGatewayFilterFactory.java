@@ -0,0 +1,206 @@
+package com.sportscenter.gateway.resilience;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.filter.factory.RetryGatewayFilterFactory;
+import org.springframework.cloud.gateway.support.HasRouteId;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.netty.Connection;
+import reactor.util.retry.Retry;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * 🔁 Retry avec backoff exponentiel + jitter, limité par un {@link RetryBudget} par route.
+ *
+ * Ne rejoue que les méthodes idempotentes (GET par défaut), ainsi que les méthodes de
+ * {@code keyedMethods} quand la requête porte un en-tête Idempotency-Key (le service
+ * renvoie alors la réponse d'origine au lieu de réécrire), sur erreur réseau / timeout
+ * ou sur 502, 503, 504. Même reset de l'échange et même compteur d'itérations que le filtre
+ * Retry standard, avec {@link Retry} de reactor-core (reactor-addons est déprécié).
+ */
+@Component
+public class BudgetedRetryGatewayFilterFactory
+        extends AbstractGatewayFilterFactory<BudgetedRetryGatewayFilterFactory.Config> {
+
+    private static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    // ±50 % autour du délai exponentiel, borné par maxBackoff
+    private static final double JITTER_FACTOR = 0.5;
+
+    private static final Set<HttpStatus> RETRYABLE_STATUSES = Set.of(
+            HttpStatus.BAD_GATEWAY, HttpStatus.SERVICE_UNAVAILABLE, HttpStatus.GATEWAY_TIMEOUT);
+
+    private final MeterRegistry registry;
+
+    public BudgetedRetryGatewayFilterFactory(MeterRegistry registry) {
+        super(Config.class);
+        this.registry = registry;
+    }
+
+    @Override
+    public List<String> shortcutFieldOrder() {
+        return List.of("retries", "budgetRatio");
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        String routeId = config.getRouteId() != null ? config.getRouteId() : "unknown";
+        RetryBudget budget = new RetryBudget(config.getBudgetRatio(), config.getMinRetries(), config.getMaxTokens());
+
+        Gauge.builder("gateway.retry.budget", budget, RetryBudget::available)
+                .description("Jetons de retry disponibles")
+                .tag("route", routeId)
+                .register(registry);
+        Counter retried = retryCounter(routeId, "retried");
+        Counter exhausted = retryCounter(routeId, "budget_exhausted");
+
+        return (exchange, chain) -> {
+            if (!exchange.getAttributes().containsKey(RetryGatewayFilterFactory.RETRY_ITERATION_KEY)) {
+                budget.deposit();
+            }
+
+            // erreurs réseau / timeout : Retry de reactor-core, le contexte vient de l'échange
+            Retry errorRetry = Retry.backoff(config.getRetries(), config.getFirstBackoff())
+                    .maxBackoff(config.getMaxBackoff())
+                    .jitter(JITTER_FACTOR)
+                    .filter(error -> isRetryable(exchange, config)
+                            && (isTransient(error) || isTransient(error.getCause()))
+                            && admit(budget, retried, exhausted))
+                    .doBeforeRetry(signal -> reset(exchange))
+                    .onRetryExhaustedThrow((spec, signal) -> signal.failure());
+
+            Mono<Void> attempt = Mono.defer(() -> chain.filter(exchange))
+                    .doOnSuccess(done -> updateIteration(exchange))
+                    .doOnError(error -> updateIteration(exchange))
+                    .retryWhen(errorRetry);
+
+            // 502 / 503 / 504 : réponse complète, rejouée tant que le budget le permet
+            return attempt
+                    .repeatWhen(completions -> completions
+                            .takeWhile(done -> isRetryable(exchange, config)
+                                    && RETRYABLE_STATUSES.contains(exchange.getResponse().getStatusCode())
+                                    && admit(budget, retried, exhausted))
+                            .concatMap(done -> Mono.delay(backoff(config, iteration(exchange)))
+                                    .doOnNext(delayed -> reset(exchange))))
+                    .then();
+        };
+    }
+
+    private static int iteration(ServerWebExchange exchange) {
+        Integer iteration = exchange.getAttribute(RetryGatewayFilterFactory.RETRY_ITERATION_KEY);
+        return iteration != null ? iteration : 0;
+    }
+
+    // même compteur que RetryGatewayFilterFactory : une requête rejouée ne redépose pas dans le budget
+    private static void updateIteration(ServerWebExchange exchange) {
+        exchange.getAttributes().put(RetryGatewayFilterFactory.RETRY_ITERATION_KEY, iteration(exchange) + 1);
+    }
+
+    // backoff exponentiel (x2) avec le même jitter que Retry.backoff, pour les réponses 5xx
+    private static Duration backoff(Config config, int iteration) {
+        long first = config.getFirstBackoff().toMillis();
+        long max = config.getMaxBackoff().toMillis();
+        long delay = Math.min(max, first << Math.min(Math.max(iteration - 1, 0), 30));
+        long offset = (long) (delay * JITTER_FACTOR);
+        long low = Math.max(first, delay - offset);
+        long high = Math.min(max, delay + offset);
+        return Duration.ofMillis(high > low ? ThreadLocalRandom.current().nextLong(low, high + 1) : delay);
+    }
+
+    private static boolean isRetryable(ServerWebExchange exchange, Config config) {
+        if (iteration(exchange) > config.getRetries()) {
+            return false;
+        }
+        HttpMethod method = exchange.getRequest().getMethod();
+        return config.getMethods().contains(method)
+                || (config.getKeyedMethods().contains(method)
+                && exchange.getRequest().getHeaders().containsKey(IDEMPOTENCY_KEY_HEADER));
+    }
+
+    private static boolean isTransient(Throwable error) {
+        return error instanceof IOException || error instanceof TimeoutException;
+    }
+
+    private static boolean admit(RetryBudget budget, Counter retried, Counter exhausted) {
+        if (budget.tryWithdraw()) {
+            retried.increment();
+            return true;
+        }
+        exhausted.increment();
+        return false;
+    }
+
+    private Counter retryCounter(String routeId, String outcome) {
+        return Counter.builder("gateway.retry")
+                .description("Retries effectués ou refusés faute de budget")
+                .tag("route", routeId)
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+
+    // même remise à zéro que RetryGatewayFilterFactory (connexion précédente + état de la réponse)
+    private static void reset(ServerWebExchange exchange) {
+        Connection connection = exchange.getAttribute(ServerWebExchangeUtils.CLIENT_RESPONSE_CONN_ATTR);
+        if (connection != null) {
+            connection.dispose();
+            exchange.getAttributes().remove(ServerWebExchangeUtils.CLIENT_RESPONSE_CONN_ATTR);
+        }
+        ServerWebExchangeUtils.reset(exchange);
+    }
+
+    public static class Config implements HasRouteId {
+
+        private String routeId;
+        private int retries = 2;
+        private Set<HttpMethod> methods = Set.of(HttpMethod.GET);
+        // rejouées seulement avec un en-tête Idempotency-Key
+        private Set<HttpMethod> keyedMethods = Set.of();
+        private Duration firstBackoff = Duration.ofMillis(50);
+        private Duration maxBackoff = Duration.ofMillis(500);
+        private double budgetRatio = 0.2;
+        private int minRetries = 10;
+        private int maxTokens = 100;
+
+        @Override
+        public void setRouteId(String routeId) { this.routeId = routeId; }
+        @Override
+        public String getRouteId() { return routeId; }
+
+        public int getRetries() { return retries; }
+        public void setRetries(int retries) { this.retries = retries; }
+
+        public Set<HttpMethod> getMethods() { return methods; }
+        public void setMethods(Set<HttpMethod> methods) { this.methods = methods; }
+
+        public Set<HttpMethod> getKeyedMethods() { return keyedMethods; }
+        public void setKeyedMethods(Set<HttpMethod> keyedMethods) { this.keyedMethods = keyedMethods; }
+
+        public Duration getFirstBackoff() { return firstBackoff; }
+        public void setFirstBackoff(Duration firstBackoff) { this.firstBackoff = firstBackoff; }
+
+        public Duration getMaxBackoff() { return maxBackoff; }
+        public void setMaxBackoff(Duration maxBackoff) { this.maxBackoff = maxBackoff; }
+
+        public double getBudgetRatio() { return budgetRatio; }
+        public void setBudgetRatio(double budgetRatio) { this.budgetRatio = budgetRatio; }
+
+        public int getMinRetries() { return minRetries; }
+        public void setMinRetries(int minRetries) { this.minRetries = minRetries; }
+
+        public int getMaxTokens() { return maxTokens; }
+        public void setMaxTokens(int maxTokens) { this.maxTokens = maxTokens; }
+    }
+}
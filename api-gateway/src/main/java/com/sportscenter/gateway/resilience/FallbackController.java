@@ -0,0 +1,55 @@
+package com.sportscenter.gateway.resilience;
+
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ServerWebExchange;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 🩹 Réponse de repli du filtre CircuitBreaker (fallbackUri: forward:/fallback).
+ *
+ * Statut et message se règlent par route dans application.yml :
+ * <pre>
+ *   metadata:
+ *     fallback-status: 503
+ *     fallback-message: "..."
+ * </pre>
+ */
+@RestController
+public class FallbackController {
+
+    private static final String STATUS_KEY = "fallback-status";
+    private static final String MESSAGE_KEY = "fallback-message";
+
+    @RequestMapping("/fallback")
+    public ResponseEntity<Map<String, Object>> fallback(ServerWebExchange exchange) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        Map<String, Object> metadata = route != null ? route.getMetadata() : Map.of();
+
+        HttpStatus status = HttpStatus.SERVICE_UNAVAILABLE;
+        Object configuredStatus = metadata.get(STATUS_KEY);
+        if (configuredStatus != null) {
+            status = HttpStatus.valueOf(Integer.parseInt(configuredStatus.toString()));
+        }
+
+        Map<String, Object> body = new HashMap<>();
+        body.put("status", status.value());
+        body.put("route", route != null ? route.getId() : null);
+        body.put("message", metadata.getOrDefault(MESSAGE_KEY, "Service temporairement indisponible"));
+
+        Throwable cause = exchange.getAttribute(ServerWebExchangeUtils.CIRCUITBREAKER_EXECUTION_EXCEPTION_ATTR);
+        if (cause != null) {
+            body.put("cause", cause.getClass().getSimpleName());
+        }
+
+        return ResponseEntity.status(status)
+                .header("Retry-After", "5")
+                .body(body);
+    }
+}
@@ -0,0 +1,50 @@
+package com.sportscenter.gateway.resilience;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 💰 Budget de retries d'une route : chaque requête initiale dépose {@code ratio} jeton,
+ * chaque retry en consomme un. Quand le service tombe, le budget s'épuise et les
+ * retries s'arrêtent d'eux-mêmes au lieu de multiplier la charge.
+ *
+ * Les jetons sont stockés en millièmes pour rester sur un simple AtomicLong.
+ */
+class RetryBudget {
+
+    private static final long UNIT = 1000;
+
+    private final long depositPerRequest;
+    private final long maxTokens;
+    private final AtomicLong tokens;
+
+    RetryBudget(double ratio, int minRetries, int maxTokens) {
+        this.depositPerRequest = Math.round(ratio * UNIT);
+        this.maxTokens = Math.max(maxTokens, minRetries) * UNIT;
+        this.tokens = new AtomicLong(minRetries * UNIT);
+    }
+
+    void deposit() {
+        long current;
+        do {
+            current = tokens.get();
+            if (current >= maxTokens) {
+                return;
+            }
+        } while (!tokens.compareAndSet(current, Math.min(maxTokens, current + depositPerRequest)));
+    }
+
+    boolean tryWithdraw() {
+        long current;
+        do {
+            current = tokens.get();
+            if (current < UNIT) {
+                return false;
+            }
+        } while (!tokens.compareAndSet(current, current - UNIT));
+        return true;
+    }
+
+    double available() {
+        return tokens.get() / (double) UNIT;
+    }
+}
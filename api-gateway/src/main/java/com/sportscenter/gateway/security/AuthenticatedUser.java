@@ -0,0 +1,23 @@
+package com.sportscenter.gateway.security;
+
+// identité extraite d'un JWT vérifié
+public class AuthenticatedUser {
+
+    private final String subject;
+    private final String role;
+    private final long expiresAtMillis;
+
+    public AuthenticatedUser(String subject, String role, long expiresAtMillis) {
+        this.subject = subject;
+        this.role = role;
+        this.expiresAtMillis = expiresAtMillis;
+    }
+
+    public String getSubject() { return subject; }
+    public String getRole() { return role; }
+    public long getExpiresAtMillis() { return expiresAtMillis; }
+
+    public boolean isExpired(long nowMillis) {
+        return nowMillis >= expiresAtMillis;
+    }
+}
@@ -1,7 +1,9 @@
 package com.sportscenter.gateway.security;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.stereotype.Component;
 import org.springframework.web.server.ServerWebExchange;
 import org.springframework.web.server.WebFilter;
@@ -11,10 +13,31 @@ import reactor.core.publisher.Mono;
 @Component
 public class JwtAuthenticationFilter implements WebFilter {
 
+    public static final String USER_HEADER = "X-Auth-User";
+    public static final String ROLE_HEADER = "X-Auth-Role";
+    public static final String GATEWAY_SECRET_HEADER = "X-Gateway-Secret";
+
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final JwtService jwtService;
+    private final VerifiedTokenCache tokenCache;
+    private final String gatewaySecret;
+
+    public JwtAuthenticationFilter(JwtService jwtService,
+                                   VerifiedTokenCache tokenCache,
+                                   @Value("${security.gateway.shared-secret}") String gatewaySecret) {
+        this.jwtService = jwtService;
+        this.tokenCache = tokenCache;
+        if (gatewaySecret == null || gatewaySecret.isBlank()) {
+            throw new IllegalStateException("security.gateway.shared-secret manquant (variable GATEWAY_SHARED_SECRET)");
+        }
+        this.gatewaySecret = gatewaySecret;
+    }
+
     @Override
     public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
 
-        String path = exchange.getRequest().getPath().toString();
+        String path = exchange.getRequest().getPath().value();
 
         // 🔓 Routes publiques (pas de JWT)
         if (path.startsWith("/auth") || path.startsWith("/actuator")) {
@@ -26,19 +49,57 @@ public class JwtAuthenticationFilter implements WebFilter {
                 .getFirst(HttpHeaders.AUTHORIZATION);
 
         // ❌ Pas de token
-        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
-            exchange.getResponse().setStatusCode(HttpStatus.UNAUTHORIZED);
-            return exchange.getResponse().setComplete();
+        if (authHeader == null || !authHeader.startsWith(BEARER_PREFIX)) {
+            return unauthorized(exchange);
+        }
+
+        // ❌ Mauvais format JWT (exactement deux points, sans découper la chaîne)
+        String token = authHeader.substring(BEARER_PREFIX.length());
+        if (!hasThreeParts(token)) {
+            return unauthorized(exchange);
         }
 
-        // ❌ Mauvais format JWT
-        String token = authHeader.substring(7);
-        if (token.split("\\.").length != 3) {
-            exchange.getResponse().setStatusCode(HttpStatus.UNAUTHORIZED);
-            return exchange.getResponse().setComplete();
+        // ⚡ Token déjà vérifié ? sinon HMAC + expiration puis mise en cache
+        long now = System.currentTimeMillis();
+        AuthenticatedUser user = tokenCache.get(token, now);
+        if (user == null) {
+            user = jwtService.verify(token);
+            if (user == null || user.isExpired(now)) {
+                return unauthorized(exchange);
+            }
+            tokenCache.put(token, user, now);
         }
 
-        // ✅ Token accepté
-        return chain.filter(exchange);
+        // ✅ Token accepté : on transmet l'identité aux microservices
+        AuthenticatedUser identity = user;
+        ServerHttpRequest request = exchange.getRequest().mutate()
+                .headers(headers -> {
+                    headers.set(USER_HEADER, identity.getSubject());
+                    if (identity.getRole() != null) {
+                        headers.set(ROLE_HEADER, identity.getRole());
+                    } else {
+                        headers.remove(ROLE_HEADER);
+                    }
+                    headers.set(GATEWAY_SECRET_HEADER, gatewaySecret);
+                })
+                .build();
+
+        return chain.filter(exchange.mutate().request(request).build());
+    }
+
+    private static boolean hasThreeParts(String token) {
+        int first = token.indexOf('.');
+        if (first <= 0) {
+            return false;
+        }
+        int second = token.indexOf('.', first + 1);
+        return second > first + 1
+                && second < token.length() - 1
+                && token.indexOf('.', second + 1) < 0;
+    }
+
+    private static Mono<Void> unauthorized(ServerWebExchange exchange) {
+        exchange.getResponse().setStatusCode(HttpStatus.UNAUTHORIZED);
+        return exchange.getResponse().setComplete();
     }
 }
@@ -0,0 +1,72 @@
+package com.sportscenter.gateway.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Date;
+
+@Service
+public class JwtService {
+
+    private static final String ROLE_CLAIM = "role";
+    private static final int MIN_SECRET_BYTES = 32;
+
+    private final byte[] secret;
+    private final Duration expiration;
+
+    public JwtService(@Value("${security.jwt.secret}") String secret,
+                      @Value("${security.jwt.expiration:8h}") Duration expiration) {
+        // pas de clé par défaut : une clé connue permettrait de forger des tokens
+        if (secret == null || secret.getBytes(StandardCharsets.UTF_8).length < MIN_SECRET_BYTES) {
+            throw new IllegalStateException("security.jwt.secret manquant ou trop court (variable JWT_SECRET, au moins "
+                    + MIN_SECRET_BYTES + " octets)");
+        }
+        this.secret = secret.getBytes(StandardCharsets.UTF_8);
+        this.expiration = expiration;
+    }
+
+    // 🎫 JWT signé HS256 avec sujet, rôle et expiration
+    public String generateToken(String username, String role) {
+        long now = System.currentTimeMillis();
+        return Jwts.builder()
+                .setSubject(username)
+                .claim(ROLE_CLAIM, role)
+                .setIssuedAt(new Date(now))
+                .setExpiration(new Date(now + expiration.toMillis()))
+                .signWith(SignatureAlgorithm.HS256, secret)
+                .compact();
+    }
+
+    public Duration getExpiration() {
+        return expiration;
+    }
+
+    /**
+     * Vérifie signature et expiration.
+     *
+     * @return l'identité portée par le token, ou null si le token est invalide
+     */
+    public AuthenticatedUser verify(String token) {
+        try {
+            Claims claims = Jwts.parser()
+                    .setSigningKey(secret)
+                    .parseClaimsJws(token)
+                    .getBody();
+            if (claims.getSubject() == null || claims.getExpiration() == null) {
+                return null;
+            }
+            return new AuthenticatedUser(
+                    claims.getSubject(),
+                    claims.get(ROLE_CLAIM, String.class),
+                    claims.getExpiration().getTime());
+        } catch (JwtException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
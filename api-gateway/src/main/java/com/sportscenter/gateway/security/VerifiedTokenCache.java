@@ -0,0 +1,84 @@
+package com.sportscenter.gateway.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tokens déjà vérifiés, indexés par leur empreinte SHA-256, conservés jusqu'à
+ * leur expiration. Évite de refaire le HMAC et le parsing JSON à chaque requête.
+ *
+ * Caffeine borne la taille (éviction des moins utilisés, sans parcours de la map)
+ * et retire chaque entrée à l'expiration de son token.
+ */
+@Component
+public class VerifiedTokenCache {
+
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    });
+
+    private final int maxEntries;
+    private final Cache<ByteBuffer, AuthenticatedUser> entries;
+
+    public VerifiedTokenCache(@Value("${security.jwt.cache-size:10000}") int maxEntries) {
+        this.maxEntries = maxEntries;
+        this.entries = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfter(new UntilTokenExpiry())
+                .build();
+    }
+
+    public AuthenticatedUser get(String token, long nowMillis) {
+        ByteBuffer key = keyOf(token);
+        AuthenticatedUser user = entries.getIfPresent(key);
+        // horloge de l'appelant : un token expiré n'est jamais rendu, même avant le nettoyage de Caffeine
+        if (user != null && user.isExpired(nowMillis)) {
+            entries.asMap().remove(key, user);
+            return null;
+        }
+        return user;
+    }
+
+    public void put(String token, AuthenticatedUser user, long nowMillis) {
+        // taille 0 : cache désactivé (Caffeine insérerait puis évincerait en différé)
+        if (maxEntries > 0 && !user.isExpired(nowMillis)) {
+            entries.put(keyOf(token), user);
+        }
+    }
+
+    private static ByteBuffer keyOf(String token) {
+        return ByteBuffer.wrap(SHA_256.get().digest(token.getBytes(StandardCharsets.US_ASCII)));
+    }
+
+    // durée de vie = temps restant avant l'expiration du token
+    private static final class UntilTokenExpiry implements Expiry<ByteBuffer, AuthenticatedUser> {
+
+        @Override
+        public long expireAfterCreate(ByteBuffer key, AuthenticatedUser user, long currentTime) {
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(0, user.getExpiresAtMillis() - System.currentTimeMillis()));
+        }
+
+        @Override
+        public long expireAfterUpdate(ByteBuffer key, AuthenticatedUser user, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, user, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(ByteBuffer key, AuthenticatedUser user, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
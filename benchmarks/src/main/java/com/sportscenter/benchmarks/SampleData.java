@@ -0,0 +1,75 @@
+package com.sportscenter.benchmarks;
+
+import com.sportscenter.activity.entity.Activity;
+import com.sportscenter.booking.entity.Booking;
+import com.sportscenter.booking.entity.BookingStatus;
+import com.sportscenter.member.entity.Member;
+import com.sportscenter.member.entity.SubscriptionStatus;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+// entités représentatives (champs tous renseignés) partagées par les suites de mapping et JSON
+public final class SampleData {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2026, 1, 5, 8, 0);
+
+    private SampleData() {
+    }
+
+    public static List<Booking> bookings(int count) {
+        List<Booking> bookings = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            Booking booking = new Booking();
+            booking.setId((long) i);
+            booking.setMemberId((long) (i % 500 + 1));
+            booking.setActivityId((long) (i % 40 + 1));
+            booking.setStatus(i % 20 == 0 ? BookingStatus.PENDING : BookingStatus.CONFIRMED);
+            booking.setBookingDate(BASE.plusMinutes(i));
+            booking.setCreatedAt(BASE.plusMinutes(i));
+            booking.setUpdatedAt(BASE.plusMinutes(i));
+            bookings.add(booking);
+        }
+        return bookings;
+    }
+
+    public static List<Member> members(int count) {
+        List<Member> members = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            Member member = new Member();
+            member.setId((long) i);
+            member.setEmail("membre" + i + "@sportcentre.fr");
+            member.setFirstName("Prénom" + i);
+            member.setLastName("Nom" + i);
+            member.setPhone("06" + String.format("%08d", i));
+            member.setSubscriptionStatus(i % 10 == 0 ? SubscriptionStatus.INACTIVE : SubscriptionStatus.ACTIVE);
+            member.setSubscriptionStartDate(BASE.minusMonths(1));
+            member.setSubscriptionEndDate(BASE.plusMonths(11));
+            member.setCreatedAt(BASE.minusMonths(1));
+            member.setUpdatedAt(BASE);
+            members.add(member);
+        }
+        return members;
+    }
+
+    public static List<Activity> activities(int count) {
+        List<Activity> activities = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            Activity activity = new Activity();
+            activity.setId((long) i);
+            activity.setName("Yoga niveau " + (i % 3 + 1));
+            activity.setDescription("Séance de " + i + " : échauffement, postures, relaxation");
+            activity.setCoach("Coach " + (i % 12));
+            activity.setRoom("Salle " + (char) ('A' + i % 6));
+            activity.setMaxCapacity(20);
+            activity.setCurrentParticipants(i % 21);
+            activity.setStartTime(BASE.plusHours(i));
+            activity.setEndTime(BASE.plusHours(i + 1));
+            activity.setCreatedAt(BASE);
+            activity.setUpdatedAt(BASE);
+            activities.add(activity);
+        }
+        return activities;
+    }
+}
@@ -0,0 +1,69 @@
+package com.sportscenter.benchmarks.booking;
+
+import com.sportscenter.booking.client.ActivityClient;
+import com.sportscenter.booking.client.MemberClient;
+import com.sportscenter.booking.config.AsyncConfig;
+import com.sportscenter.booking.entity.Booking;
+import com.sportscenter.booking.repository.BookingRepository;
+import com.sportscenter.booking.service.BookingBatchService;
+import com.sportscenter.booking.service.BookingService;
+import com.sportscenter.booking.service.MemberScheduleService;
+import com.sportscenter.booking.service.MemberStatusProjection;
+import com.sportscenter.booking.service.SeatReleaseService;
+import com.sportscenter.booking.service.SeatReservationService;
+import com.sportscenter.booking.service.WaitlistService;
+import com.sportscenter.common.event.OutboxEvent;
+import com.sportscenter.common.event.OutboxEventRepository;
+import com.sportscenter.common.event.OutboxService;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.autoconfigure.flyway.FlywayAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.JdbcTemplateAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.boot.autoconfigure.transaction.TransactionAutoConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+
+/**
+ * Contexte réduit de booking-service : services d'écriture réels, base H2 migrée par
+ * Flyway, clients member / activity simulés. Pas d'Eureka, de web ni de relais d'outbox
+ * (les lignes d'outbox sont écrites comme en production, mais pas publiées).
+ */
+@SpringBootConfiguration
+@ImportAutoConfiguration({
+        DataSourceAutoConfiguration.class,
+        FlywayAutoConfiguration.class,
+        HibernateJpaAutoConfiguration.class,
+        TransactionAutoConfiguration.class,
+        JdbcTemplateAutoConfiguration.class,
+        JacksonAutoConfiguration.class
+})
+@EnableJpaRepositories(basePackageClasses = {BookingRepository.class, OutboxEventRepository.class})
+@EntityScan(basePackageClasses = {Booking.class, OutboxEvent.class})
+@Import({
+        AsyncConfig.class,
+        BookingService.class,
+        BookingBatchService.class,
+        SeatReservationService.class,
+        SeatReleaseService.class,
+        WaitlistService.class,
+        MemberScheduleService.class,
+        MemberStatusProjection.class,
+        OutboxService.class
+})
+public class BookingBenchmarkConfig {
+
+    @Bean
+    public ActivityClient activityClient() {
+        return new StubActivityClient();
+    }
+
+    @Bean
+    public MemberClient memberClient() {
+        return new StubMemberClient();
+    }
+}
@@ -0,0 +1,164 @@
+package com.sportscenter.benchmarks.booking;
+
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.configuration.FluentConfiguration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lookups de booking-service sur le schéma Flyway (V1 + index V2) avec H2 en mode MySQL.
+ *
+ * Les requêtes sont celles générées pour BookingRepository.findByMemberId, findByActivityId
+ * et findIdsByActivityIdAndStatus. La base est construite une seule fois par taille dans
+ * target/bench-db puis réutilisée (10M lignes : plusieurs minutes au premier lancement).
+ *
+ * Répartition : ~50 réservations par membre, ~200 par activité, 5 % en attente.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xmx3g"})
+@State(Scope.Benchmark)
+public class BookingLookupBenchmark {
+
+    private static final int BOOKINGS_PER_MEMBER = 50;
+    private static final int BOOKINGS_PER_ACTIVITY = 200;
+    private static final int INSERT_CHUNK = 1_000_000;
+
+    private static final String BOOKING_COLUMNS =
+            "id, member_id, activity_id, status, booking_date, cancellation_date, created_at, updated_at";
+
+    @Param({"10000000"})
+    public long bookings;
+
+    private String url;
+    private long members;
+    private long activities;
+
+    @Setup(Level.Trial)
+    public void createDatabase() throws SQLException {
+        url = "jdbc:h2:file:./target/bench-db/bookings-" + bookings
+                + ";MODE=MySQL;CACHE_SIZE=1572864";
+        members = Math.max(1, bookings / BOOKINGS_PER_MEMBER);
+        activities = Math.max(1, bookings / BOOKINGS_PER_ACTIVITY);
+
+        // comme en production : table remplie d'abord (V1), index ajoutés ensuite par V2
+        migrate("1");
+        try (Connection connection = DriverManager.getConnection(url, "sa", "");
+             Statement statement = connection.createStatement()) {
+            long existing;
+            try (ResultSet rs = statement.executeQuery("SELECT COUNT(*) FROM bookings")) {
+                rs.next();
+                existing = rs.getLong(1);
+            }
+            // ids dispersés (multiplicateurs premiers) : pas de localité artificielle sur disque
+            for (long from = existing + 1; from <= bookings; from += INSERT_CHUNK) {
+                long to = Math.min(bookings, from + INSERT_CHUNK - 1);
+                statement.executeUpdate("INSERT INTO bookings (" + BOOKING_COLUMNS + ") "
+                        + "SELECT X, MOD(X * 7919, " + members + ") + 1, MOD(X * 104729, " + activities + ") + 1, "
+                        + "CASE WHEN MOD(X, 20) = 0 THEN 'PENDING' WHEN MOD(X, 7) = 0 THEN 'CANCELLED' ELSE 'CONFIRMED' END, "
+                        + "DATEADD(SECOND, -X, TIMESTAMP '2026-01-01 00:00:00'), NULL, "
+                        + "DATEADD(SECOND, -X, TIMESTAMP '2026-01-01 00:00:00'), "
+                        + "DATEADD(SECOND, -X, TIMESTAMP '2026-01-01 00:00:00') "
+                        + "FROM SYSTEM_RANGE(" + from + ", " + to + ")");
+            }
+        }
+        migrate(null);
+
+        try (Connection connection = DriverManager.getConnection(url, "sa", "");
+             Statement statement = connection.createStatement()) {
+            statement.execute("ANALYZE");
+
+            // équivalent du buffer pool chaud de MySQL : index et lignes parcourus une fois
+            statement.executeQuery("SELECT COUNT(*) FROM bookings WHERE member_id > 0").close();
+            statement.executeQuery("SELECT COUNT(*) FROM bookings WHERE activity_id > 0").close();
+            statement.executeQuery("SELECT MAX(updated_at) FROM bookings").close();
+        }
+    }
+
+    private void migrate(String target) {
+        FluentConfiguration configuration = Flyway.configure()
+                .dataSource(url, "sa", "")
+                .locations("classpath:db/migration");
+        if (target != null) {
+            configuration.target(target);
+        }
+        configuration.load().migrate();
+    }
+
+    @State(Scope.Thread)
+    public static class Session {
+
+        Connection connection;
+        PreparedStatement byMember;
+        PreparedStatement byActivity;
+        PreparedStatement waitlist;
+
+        @Setup(Level.Trial)
+        public void open(BookingLookupBenchmark benchmark) throws SQLException {
+            connection = DriverManager.getConnection(benchmark.url, "sa", "");
+            byMember = connection.prepareStatement(
+                    "SELECT " + BOOKING_COLUMNS + " FROM bookings WHERE member_id = ?");
+            byActivity = connection.prepareStatement(
+                    "SELECT " + BOOKING_COLUMNS + " FROM bookings WHERE activity_id = ?");
+            waitlist = connection.prepareStatement(
+                    "SELECT id FROM bookings WHERE activity_id = ? AND status = 'PENDING' ORDER BY id");
+        }
+
+        @TearDown(Level.Trial)
+        public void close() throws SQLException {
+            connection.close();
+        }
+    }
+
+    @Benchmark
+    public void findByMemberId(Session session, Blackhole blackhole) throws SQLException {
+        session.byMember.setLong(1, ThreadLocalRandom.current().nextLong(members) + 1);
+        consume(session.byMember, blackhole);
+    }
+
+    @Benchmark
+    public void findByActivityId(Session session, Blackhole blackhole) throws SQLException {
+        session.byActivity.setLong(1, ThreadLocalRandom.current().nextLong(activities) + 1);
+        consume(session.byActivity, blackhole);
+    }
+
+    @Benchmark
+    public void findWaitlistIds(Session session, Blackhole blackhole) throws SQLException {
+        session.waitlist.setLong(1, ThreadLocalRandom.current().nextLong(activities) + 1);
+        consume(session.waitlist, blackhole);
+    }
+
+    private static void consume(PreparedStatement statement, Blackhole blackhole) throws SQLException {
+        try (ResultSet rs = statement.executeQuery()) {
+            int columns = rs.getMetaData().getColumnCount();
+            while (rs.next()) {
+                for (int i = 1; i <= columns; i++) {
+                    blackhole.consume(rs.getObject(i));
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.sportscenter.benchmarks.booking;
+
+import com.sportscenter.booking.dto.BookingBatchResultDTO;
+import com.sportscenter.booking.dto.BookingDTO;
+import com.sportscenter.booking.service.BookingBatchService;
+import com.sportscenter.booking.service.BookingService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Chemin d'écriture de booking-service : BookingService.createBooking / cancelBooking,
+ * et création de {@code batchSize} réservations en boucle (createBooking) ou en un
+ * appel BookingBatchService.createBookings.
+ *
+ * Base H2 en mémoire (mode MySQL, migrations Flyway) ; activity-service et member-service
+ * sont simulés, le coût mesuré est donc celui du service et de la base, sans réseau.
+ * Chaque réservation créée porte sur un couple (membre, activité) nouveau : pas de
+ * conflit d'horaire, pas de liste d'attente.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xmx2g"})
+@State(Scope.Benchmark)
+public class BookingWriteBenchmark {
+
+    private static final long MEMBERS = 10_000;
+    // réservations à annuler, recréées avant chaque itération (au-delà du débit attendu sur 2 s)
+    private static final int CANCEL_POOL = 300_000;
+    // activités du lot d'annulation, à l'écart de celles créées par les autres mesures
+    private static final long CANCEL_ACTIVITY_OFFSET = 1_000_000_000L;
+
+    @Param({"100"})
+    public int batchSize;
+
+    private ConfigurableApplicationContext context;
+    private BookingService bookingService;
+    private BookingBatchService bookingBatchService;
+    private JdbcTemplate jdbcTemplate;
+
+    private final AtomicLong sequence = new AtomicLong();
+    private long[] cancellable;
+    private int nextCancel;
+
+    @Setup(Level.Trial)
+    public void start() {
+        context = new SpringApplicationBuilder(BookingBenchmarkConfig.class)
+                .web(WebApplicationType.NONE)
+                .logStartupInfo(false)
+                .properties(
+                        // aucun application.yml des services du classpath n'est lu
+                        "spring.config.name=benchmark-booking",
+                        "spring.datasource.url=jdbc:h2:mem:booking-bench;MODE=MySQL;DB_CLOSE_DELAY=-1",
+                        "spring.datasource.username=sa",
+                        "spring.jpa.hibernate.ddl-auto=none",
+                        "spring.jpa.open-in-view=false")
+                .run();
+        bookingService = context.getBean(BookingService.class);
+        bookingBatchService = context.getBean(BookingBatchService.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    // réservations CONFIRMED insérées directement, annulées une à une par cancelBooking
+    @Setup(Level.Iteration)
+    public void prepareCancellations() {
+        long first = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM bookings", Long.class) + 1;
+        jdbcTemplate.update("INSERT INTO bookings (member_id, activity_id, status, booking_date, created_at, updated_at) "
+                + "SELECT MOD(X, " + MEMBERS + ") + 1, " + CANCEL_ACTIVITY_OFFSET + " + X, 'CONFIRMED', "
+                + "CURRENT_TIMESTAMP, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP FROM SYSTEM_RANGE(1, " + CANCEL_POOL + ")");
+        cancellable = new long[CANCEL_POOL];
+        for (int i = 0; i < CANCEL_POOL; i++) {
+            cancellable[i] = first + i;
+        }
+        nextCancel = 0;
+    }
+
+    @Benchmark
+    public BookingDTO createBooking() {
+        return bookingService.createBooking(nextBooking());
+    }
+
+    @Benchmark
+    public BookingDTO cancelBooking() {
+        if (nextCancel == cancellable.length) {
+            throw new IllegalStateException("CANCEL_POOL trop petit pour la durée d'itération");
+        }
+        return bookingService.cancelBooking(cancellable[nextCancel++]);
+    }
+
+    @Benchmark
+    public void createBookingsLoop(Blackhole blackhole) {
+        for (int i = 0; i < batchSize; i++) {
+            blackhole.consume(bookingService.createBooking(nextBooking()));
+        }
+    }
+
+    @Benchmark
+    public List<BookingBatchResultDTO> createBookingsBatch() {
+        List<BookingDTO> items = new ArrayList<>(batchSize);
+        for (int i = 0; i < batchSize; i++) {
+            items.add(nextBooking());
+        }
+        return bookingBatchService.createBookings(items);
+    }
+
+    // couple (membre, activité) jamais réservé : activité n/MEMBERS, créneaux disjoints
+    private BookingDTO nextBooking() {
+        long n = sequence.getAndIncrement();
+        BookingDTO dto = new BookingDTO();
+        dto.setMemberId(n % MEMBERS + 1);
+        dto.setActivityId(n / MEMBERS + 1);
+        return dto;
+    }
+}
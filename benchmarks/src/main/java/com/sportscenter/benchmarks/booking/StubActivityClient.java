@@ -0,0 +1,53 @@
+package com.sportscenter.benchmarks.booking;
+
+import com.sportscenter.booking.client.ActivityClient;
+import com.sportscenter.booking.dto.ActivitySummaryDTO;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * activity-service simulé : l'activité n dure une heure à partir de BASE + n heures
+ * (aucun chevauchement entre deux activités), capacité jamais atteinte.
+ */
+class StubActivityClient extends ActivityClient {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2030, 1, 1, 0, 0);
+
+    StubActivityClient() {
+        super(null, "");
+    }
+
+    @Override
+    public ActivitySummaryDTO getActivity(Long activityId) {
+        ActivitySummaryDTO activity = new ActivitySummaryDTO();
+        activity.setId(activityId);
+        activity.setName("Activité " + activityId);
+        activity.setCoach("Coach " + (activityId % 50));
+        activity.setMaxCapacity(Integer.MAX_VALUE / 2);
+        activity.setCurrentParticipants(0);
+        activity.setStartTime(BASE.plusHours(activityId));
+        activity.setEndTime(BASE.plusHours(activityId + 1));
+        return activity;
+    }
+
+    @Override
+    public List<ActivitySummaryDTO> getActivities(Collection<Long> ids) {
+        List<ActivitySummaryDTO> activities = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            activities.add(getActivity(id));
+        }
+        return activities;
+    }
+
+    @Override
+    public boolean reserveSeats(Long activityId, int seats) {
+        return true;
+    }
+
+    @Override
+    public void releaseSeats(Long activityId, int seats) {
+    }
+}
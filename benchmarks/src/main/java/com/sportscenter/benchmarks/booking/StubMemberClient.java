@@ -0,0 +1,36 @@
+package com.sportscenter.benchmarks.booking;
+
+import com.sportscenter.booking.client.MemberClient;
+import com.sportscenter.booking.dto.MemberStatusDTO;
+import com.sportscenter.booking.dto.MemberSummaryDTO;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+// member-service simulé : tous les membres existent, abonnement ACTIVE
+class StubMemberClient extends MemberClient {
+
+    StubMemberClient() {
+        super(null, "");
+    }
+
+    @Override
+    public List<MemberSummaryDTO> getMembers(Collection<Long> ids) {
+        List<MemberSummaryDTO> members = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            MemberSummaryDTO member = new MemberSummaryDTO();
+            member.setId(id);
+            member.setEmail("membre" + id + "@example.com");
+            member.setSubscriptionStatus("ACTIVE");
+            members.add(member);
+        }
+        return members;
+    }
+
+    // projection remplie à la demande (getMembers), comme pour un membre créé après le démarrage
+    @Override
+    public List<MemberStatusDTO> getStatuses(long after, int limit) {
+        return List.of();
+    }
+}
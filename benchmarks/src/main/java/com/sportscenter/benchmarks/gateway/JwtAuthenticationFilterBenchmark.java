@@ -0,0 +1,77 @@
+package com.sportscenter.benchmarks.gateway;
+
+import com.sportscenter.gateway.security.JwtAuthenticationFilter;
+import com.sportscenter.gateway.security.JwtService;
+import com.sportscenter.gateway.security.VerifiedTokenCache;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JwtAuthenticationFilter de l'api-gateway, pour une requête GET /api/bookings :
+ * token déjà vérifié (cas courant), token vérifié à chaque requête (HMAC + parsing,
+ * cache désactivé) et requête refusée sans token.
+ *
+ * Les échanges simulés sont créés une fois : MockServerWebExchange instancie tous les
+ * codecs à chaque création, ce qui masquerait le coût du filtre. Le filtre ne modifie pas
+ * l'échange reçu (il en dérive un nouveau), sauf la réponse 401, déjà terminée après le
+ * premier appel.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtAuthenticationFilterBenchmark {
+
+    private static final String SECRET = "benchmark-sport-centre-jwt-secret-0123456789";
+    private static final WebFilterChain CHAIN = exchange -> Mono.empty();
+
+    private JwtAuthenticationFilter cachedFilter;
+    private JwtAuthenticationFilter uncachedFilter;
+    private ServerWebExchange withToken;
+    private ServerWebExchange withoutToken;
+
+    @Setup
+    public void setUp() {
+        JwtService jwtService = new JwtService(SECRET, Duration.ofHours(8));
+        cachedFilter = new JwtAuthenticationFilter(jwtService, new VerifiedTokenCache(10_000), "gateway-secret");
+        // taille 0 : aucun token n'est conservé, chaque requête refait la vérification
+        uncachedFilter = new JwtAuthenticationFilter(jwtService, new VerifiedTokenCache(0), "gateway-secret");
+        withToken = MockServerWebExchange.from(MockServerHttpRequest.get("/api/bookings")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + jwtService.generateToken("admin", "ADMIN")));
+        withoutToken = MockServerWebExchange.from(MockServerHttpRequest.get("/api/bookings"));
+    }
+
+    @Benchmark
+    public Void cachedToken() {
+        return cachedFilter.filter(withToken, CHAIN).block();
+    }
+
+    @Benchmark
+    public Void verifiedToken() {
+        return uncachedFilter.filter(withToken, CHAIN).block();
+    }
+
+    @Benchmark
+    public Void missingToken() {
+        return cachedFilter.filter(withoutToken, CHAIN).block();
+    }
+}
@@ -0,0 +1,113 @@
+package com.sportscenter.benchmarks.json;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.sportscenter.activity.dto.ActivityDTO;
+import com.sportscenter.activity.entity.Activity;
+import com.sportscenter.benchmarks.SampleData;
+import com.sportscenter.booking.dto.BookingDTO;
+import com.sportscenter.booking.entity.Booking;
+import com.sportscenter.member.dto.MemberDTO;
+import com.sportscenter.member.entity.Member;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sérialisation Jackson des listes renvoyées par GET /api/bookings, /api/members et
+ * /api/activities, avec la configuration de l'ObjectMapper de Spring Boot
+ * (modules java.time, dates ISO).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JsonSerializationBenchmark {
+
+    @Param({"50", "500"})
+    public int size;
+
+    private ObjectWriter writer;
+    private List<BookingDTO> bookings;
+    private List<MemberDTO> members;
+    private List<ActivityDTO> activities;
+
+    @Setup
+    public void setUp() {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        writer = objectMapper.writer();
+
+        bookings = new ArrayList<>(size);
+        for (Booking booking : SampleData.bookings(size)) {
+            BookingDTO dto = new BookingDTO();
+            dto.setId(booking.getId());
+            dto.setMemberId(booking.getMemberId());
+            dto.setActivityId(booking.getActivityId());
+            dto.setStatus(booking.getStatus().name());
+            bookings.add(dto);
+        }
+
+        members = new ArrayList<>(size);
+        for (Member member : SampleData.members(size)) {
+            MemberDTO dto = new MemberDTO();
+            dto.setId(member.getId());
+            dto.setEmail(member.getEmail());
+            dto.setFirstName(member.getFirstName());
+            dto.setLastName(member.getLastName());
+            dto.setPhone(member.getPhone());
+            dto.setSubscriptionStatus(member.getSubscriptionStatus().name());
+            dto.setSubscriptionStartDate(member.getSubscriptionStartDate());
+            dto.setSubscriptionEndDate(member.getSubscriptionEndDate());
+            members.add(dto);
+        }
+
+        activities = new ArrayList<>(size);
+        for (Activity activity : SampleData.activities(size)) {
+            ActivityDTO dto = new ActivityDTO();
+            dto.setId(activity.getId());
+            dto.setName(activity.getName());
+            dto.setDescription(activity.getDescription());
+            dto.setCoach(activity.getCoach());
+            dto.setRoom(activity.getRoom());
+            dto.setMaxCapacity(activity.getMaxCapacity());
+            dto.setCurrentParticipants(activity.getCurrentParticipants());
+            dto.setSeatsLeft(activity.getMaxCapacity() - activity.getCurrentParticipants());
+            dto.setStartTime(activity.getStartTime());
+            dto.setEndTime(activity.getEndTime());
+            activities.add(dto);
+        }
+    }
+
+    @Benchmark
+    public byte[] bookingList() throws Exception {
+        return writer.writeValueAsBytes(bookings);
+    }
+
+    @Benchmark
+    public byte[] memberList() throws Exception {
+        return writer.writeValueAsBytes(members);
+    }
+
+    @Benchmark
+    public byte[] activityList() throws Exception {
+        return writer.writeValueAsBytes(activities);
+    }
+}
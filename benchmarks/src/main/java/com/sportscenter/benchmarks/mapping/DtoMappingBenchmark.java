@@ -0,0 +1,100 @@
+package com.sportscenter.benchmarks.mapping;
+
+import com.sportscenter.activity.dto.ActivityDTO;
+import com.sportscenter.activity.entity.Activity;
+import com.sportscenter.activity.service.ActivityService;
+import com.sportscenter.benchmarks.SampleData;
+import com.sportscenter.booking.dto.BookingDTO;
+import com.sportscenter.booking.entity.Booking;
+import com.sportscenter.booking.service.BookingService;
+import com.sportscenter.member.dto.MemberDTO;
+import com.sportscenter.member.entity.Member;
+import com.sportscenter.member.service.MemberService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * convertToDTO des trois services, sur une liste de {@code size} entités (une page de
+ * liste / un flux NDJSON). Les mappers sont privés : appelés par MethodHandle, dont le coût
+ * disparaît une fois compilé (handle static final).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DtoMappingBenchmark {
+
+    private static final MethodHandle BOOKING_TO_DTO =
+            mapper(BookingService.class, BookingDTO.class, Booking.class);
+    private static final MethodHandle MEMBER_TO_DTO =
+            mapper(MemberService.class, MemberDTO.class, Member.class);
+    private static final MethodHandle ACTIVITY_TO_DTO =
+            mapper(ActivityService.class, ActivityDTO.class, Activity.class);
+
+    @Param({"500"})
+    public int size;
+
+    // services sans dépendances injectées : convertToDTO n'en utilise aucune
+    private final BookingService bookingService = new BookingService();
+    private final MemberService memberService = new MemberService();
+    private final ActivityService activityService = new ActivityService();
+
+    private List<Booking> bookings;
+    private List<Member> members;
+    private List<Activity> activities;
+
+    @Setup
+    public void setUp() {
+        bookings = SampleData.bookings(size);
+        members = SampleData.members(size);
+        activities = SampleData.activities(size);
+    }
+
+    @Benchmark
+    public void bookingToDTO(Blackhole blackhole) throws Throwable {
+        for (Booking booking : bookings) {
+            blackhole.consume((BookingDTO) BOOKING_TO_DTO.invokeExact(bookingService, booking));
+        }
+    }
+
+    @Benchmark
+    public void memberToDTO(Blackhole blackhole) throws Throwable {
+        for (Member member : members) {
+            blackhole.consume((MemberDTO) MEMBER_TO_DTO.invokeExact(memberService, member));
+        }
+    }
+
+    @Benchmark
+    public void activityToDTO(Blackhole blackhole) throws Throwable {
+        for (Activity activity : activities) {
+            blackhole.consume((ActivityDTO) ACTIVITY_TO_DTO.invokeExact(activityService, activity));
+        }
+    }
+
+    private static MethodHandle mapper(Class<?> service, Class<?> dto, Class<?> entity) {
+        try {
+            return MethodHandles.privateLookupIn(service, MethodHandles.lookup())
+                    .findVirtual(service, "convertToDTO", MethodType.methodType(dto, entity));
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.sportscenter.booking.client;
+
+import com.sportscenter.booking.dto.ActivitySummaryDTO;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+@Component
+public class ActivityClient {
+
+    private final RestTemplate restTemplate;
+    private final String baseUrl;
+
+    public ActivityClient(RestTemplate restTemplate,
+                          @Value("${clients.activity-service-url:http://activity-service}") String baseUrl) {
+        this.restTemplate = restTemplate;
+        this.baseUrl = baseUrl;
+    }
+
+    public ActivitySummaryDTO getActivity(Long activityId) {
+        return restTemplate.getForObject(
+                baseUrl + "/api/activities/{id}", ActivitySummaryDTO.class, activityId);
+    }
+
+    // un appel par lot d'identifiants (GET /api/activities?ids=...)
+    public List<ActivitySummaryDTO> getActivities(Collection<Long> ids) {
+        List<ActivitySummaryDTO> activities = new ArrayList<>(ids.size());
+        for (List<Long> chunk : BatchIds.chunks(ids)) {
+            ActivitySummaryDTO[] page = restTemplate.getForObject(
+                    baseUrl + "/api/activities?ids={ids}", ActivitySummaryDTO[].class,
+                    StringUtils.collectionToCommaDelimitedString(chunk));
+            if (page != null) {
+                activities.addAll(Arrays.asList(page));
+            }
+        }
+        return activities;
+    }
+
+    // compteur de places : /internal/** (hors gateway, compte de service)
+    // true si activity-service a pu prendre les places (UPDATE conditionnel), false si complet
+    public boolean reserveSeats(Long activityId, int seats) {
+        try {
+            restTemplate.put(baseUrl + "/internal/activities/{id}/reserve?seats={seats}", null, activityId, seats);
+            return true;
+        } catch (HttpClientErrorException.Conflict e) {
+            return false;
+        }
+    }
+
+    public void releaseSeats(Long activityId, int seats) {
+        restTemplate.put(baseUrl + "/internal/activities/{id}/release?seats={seats}", null, activityId, seats);
+    }
+}
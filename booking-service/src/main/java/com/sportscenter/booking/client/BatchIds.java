@@ -0,0 +1,23 @@
+package com.sportscenter.booking.client;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+// découpe des identifiants en lots pour garder des URL courtes
+final class BatchIds {
+
+    static final int CHUNK_SIZE = 200;
+
+    private BatchIds() {
+    }
+
+    static List<List<Long>> chunks(Collection<Long> ids) {
+        List<Long> all = new ArrayList<>(ids);
+        List<List<Long>> chunks = new ArrayList<>();
+        for (int from = 0; from < all.size(); from += CHUNK_SIZE) {
+            chunks.add(all.subList(from, Math.min(from + CHUNK_SIZE, all.size())));
+        }
+        return chunks;
+    }
+}
@@ -0,0 +1,48 @@
+package com.sportscenter.booking.client;
+
+import com.sportscenter.booking.dto.MemberStatusDTO;
+import com.sportscenter.booking.dto.MemberSummaryDTO;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+@Component
+public class MemberClient {
+
+    private final RestTemplate restTemplate;
+    private final String baseUrl;
+
+    public MemberClient(RestTemplate restTemplate,
+                        @Value("${clients.member-service-url:http://member-service}") String baseUrl) {
+        this.restTemplate = restTemplate;
+        this.baseUrl = baseUrl;
+    }
+
+    // un appel par lot d'identifiants (GET /api/members?ids=...)
+    public List<MemberSummaryDTO> getMembers(Collection<Long> ids) {
+        List<MemberSummaryDTO> members = new ArrayList<>(ids.size());
+        for (List<Long> chunk : BatchIds.chunks(ids)) {
+            MemberSummaryDTO[] page = restTemplate.getForObject(
+                    baseUrl + "/api/members?ids={ids}", MemberSummaryDTO[].class,
+                    StringUtils.collectionToCommaDelimitedString(chunk));
+            if (page != null) {
+                members.addAll(Arrays.asList(page));
+            }
+        }
+        return members;
+    }
+
+    // une page de l'instantané des statuts, ids strictement supérieurs à after
+    public List<MemberStatusDTO> getStatuses(long after, int limit) {
+        MemberStatusDTO[] page = restTemplate.getForObject(
+                baseUrl + "/api/members/statuses?after={after}&limit={limit}", MemberStatusDTO[].class,
+                after, limit);
+        return page != null ? Arrays.asList(page) : List.of();
+    }
+}
@@ -0,0 +1,37 @@
+package com.sportscenter.booking.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.Executor;
+
+@Configuration
+@EnableAsync
+public class AsyncConfig {
+
+    // promotions de la liste d'attente, hors du thread de la requête d'annulation
+    @Bean(name = "waitlistExecutor")
+    public Executor waitlistExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(2);
+        executor.setMaxPoolSize(4);
+        executor.setQueueCapacity(10_000);
+        executor.setThreadNamePrefix("waitlist-");
+        executor.initialize();
+        return executor;
+    }
+
+    // appels groupés vers member-service / activity-service lancés en parallèle
+    @Bean(name = "lookupExecutor")
+    public Executor lookupExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(4);
+        executor.setMaxPoolSize(16);
+        executor.setQueueCapacity(1_000);
+        executor.setThreadNamePrefix("lookup-");
+        executor.initialize();
+        return executor;
+    }
+}
@@ -1,20 +1,35 @@
 package com.sportscenter.booking.config;
 
+import com.sportscenter.common.security.GatewayAuthenticationFilter;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configuration.WebSecurityConfigurerAdapter;
+import org.springframework.security.web.authentication.www.BasicAuthenticationFilter;
 
 @Configuration
 @EnableWebSecurity
 public class SecurityConfig extends WebSecurityConfigurerAdapter {
 
+    @Value("${security.gateway.shared-secret}")
+    private String gatewaySecret;
+
     @Override
     protected void configure(HttpSecurity http) throws Exception {
         http
             .csrf().disable()
-            .httpBasic().disable()
             .authorizeRequests()
-            .anyRequest().permitAll();
+                .antMatchers("/actuator/**").permitAll()
+                // appels entre services (événements) : compte httpBasic de service uniquement
+                .antMatchers("/internal/**").hasRole("SERVICE")
+                // annulation groupée d'une activité : administrateur (via la gateway) ou compte de service
+                .antMatchers(HttpMethod.PUT, "/api/activities/*/bookings/cancel-all").hasAnyRole("ADMIN", "SERVICE")
+                .anyRequest().authenticated()
+            .and()
+            // identité transmise par l'api-gateway (JWT déjà vérifié)
+            .addFilterBefore(new GatewayAuthenticationFilter(gatewaySecret), BasicAuthenticationFilter.class)
+            .httpBasic();
     }
 }
@@ -0,0 +1,26 @@
+package com.sportscenter.booking.controller;
+
+import com.sportscenter.booking.dto.BookingBatchResultDTO;
+import com.sportscenter.booking.service.BookingBatchService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+// réservations vues depuis une activité (routé vers booking-service par la gateway)
+@RestController
+@RequestMapping("/api/activities/{activityId}/bookings")
+public class ActivityBookingController {
+
+    private final BookingBatchService bookingBatchService;
+
+    public ActivityBookingController(BookingBatchService bookingBatchService) {
+        this.bookingBatchService = bookingBatchService;
+    }
+
+    // coach absent : toutes les réservations actives de l'activité sont annulées
+    @PutMapping("/cancel-all")
+    public ResponseEntity<List<BookingBatchResultDTO>> cancelAll(@PathVariable Long activityId) {
+        return ResponseEntity.ok(bookingBatchService.cancelAllForActivity(activityId));
+    }
+}
@@ -1,33 +1,124 @@
 package com.sportscenter.booking.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sportscenter.booking.dto.ActivityOccupancyDTO;
+import com.sportscenter.booking.dto.BookingBatchResultDTO;
 import com.sportscenter.booking.dto.BookingDTO;
+import com.sportscenter.booking.dto.BookingExpandedDTO;
+import com.sportscenter.booking.dto.BookingStatsDTO;
+import com.sportscenter.booking.service.BookingBatchService;
 import com.sportscenter.booking.service.BookingService;
+import com.sportscenter.common.idempotency.IdempotencyService;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.util.List;
 
 @RestController
 @RequestMapping("/api/bookings")
 public class BookingController {
 
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 500;
+    private static final int MAX_BATCH_SIZE = 500;
+
     private final BookingService bookingService;
+    private final BookingBatchService bookingBatchService;
+    private final IdempotencyService idempotencyService;
+    private final ObjectMapper objectMapper;
 
-    public BookingController(BookingService bookingService) {
+    public BookingController(BookingService bookingService,
+                             BookingBatchService bookingBatchService,
+                             IdempotencyService idempotencyService,
+                             ObjectMapper objectMapper) {
         this.bookingService = bookingService;
+        this.bookingBatchService = bookingBatchService;
+        this.idempotencyService = idempotencyService;
+        this.objectMapper = objectMapper;
     }
 
+    // Idempotency-Key : un nouvel essai renvoie la réservation d'origine au lieu d'en créer une autre
     @PostMapping
-    public ResponseEntity<BookingDTO> createBooking(@RequestBody BookingDTO dto) {
-        return ResponseEntity
-                .status(HttpStatus.CREATED)
-                .body(bookingService.createBooking(dto));
+    public ResponseEntity<BookingDTO> createBooking(
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey,
+            @RequestBody BookingDTO dto) {
+        return idempotencyService.execute("POST /api/bookings", idempotencyKey, dto, BookingDTO.class, () -> {
+            BookingDTO created = bookingService.createBooking(dto);
+            // 202 : activité complète, réservation placée en liste d'attente
+            return ResponseEntity
+                    .status("PENDING".equals(created.getStatus()) ? HttpStatus.ACCEPTED : HttpStatus.CREATED)
+                    .body(created);
+        });
+    }
+
+    // création en lot : un résultat par élément, dans l'ordre (CONFIRMED, PENDING ou REJECTED)
+    @PostMapping("/batch")
+    public ResponseEntity<List<BookingBatchResultDTO>> createBookings(@RequestBody List<BookingDTO> items) {
+        if (items.isEmpty() || items.size() > MAX_BATCH_SIZE) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(bookingBatchService.createBookings(items));
     }
 
     @GetMapping
-    public ResponseEntity<List<BookingDTO>> getAllBookings() {
-        return ResponseEntity.ok(bookingService.getAllBookings());
+    public ResponseEntity<List<BookingDTO>> getAllBookings(
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false) Integer limit) {
+        // sans curseur ni limite : liste complète (compatibilité front)
+        if (after == null && limit == null) {
+            return ResponseEntity.ok(bookingService.getAllBookings());
+        }
+
+        int size = limit == null ? DEFAULT_PAGE_SIZE : Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+        List<BookingDTO> page = bookingService.getBookingsPage(after, size);
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.size() == size) {
+            response.header("X-Next-Cursor", String.valueOf(page.get(size - 1).getId()));
+        }
+        return response.body(page);
+    }
+
+    // réservations + noms membre / activité, paginées par curseur
+    @GetMapping("/expanded")
+    public ResponseEntity<List<BookingExpandedDTO>> getExpandedBookings(
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false) Integer limit) {
+        int size = limit == null ? DEFAULT_PAGE_SIZE : Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+        List<BookingExpandedDTO> page = bookingService.getExpandedBookingsPage(after, size);
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.size() == size) {
+            response.header("X-Next-Cursor", String.valueOf(page.get(size - 1).getId()));
+        }
+        return response.body(page);
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamBookings() {
+        StreamingResponseBody body = out -> bookingService.streamAllBookings(dto -> writeLine(out, dto));
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    @GetMapping("/stats")
+    public ResponseEntity<BookingStatsDTO> getStats(
+            @RequestParam(defaultValue = "7") int days) {
+        return ResponseEntity.ok(
+                bookingService.getStats(Math.min(Math.max(days, 1), 90)));
+    }
+
+    // réservations confirmées / en attente par activité (recalage d'activity-service)
+    @GetMapping("/occupancy")
+    public ResponseEntity<List<ActivityOccupancyDTO>> getOccupancy() {
+        return ResponseEntity.ok(bookingService.getOccupancy());
     }
 
     @GetMapping("/member/{memberId}")
@@ -59,4 +150,14 @@ public class BookingController {
         bookingService.deleteBooking(id);
         return ResponseEntity.noContent().build();
     }
+
+    // une ligne JSON par élément (NDJSON)
+    private void writeLine(OutputStream out, Object dto) {
+        try {
+            out.write(objectMapper.writeValueAsBytes(dto));
+            out.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
 }
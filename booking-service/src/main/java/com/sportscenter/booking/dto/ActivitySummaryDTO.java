@@ -0,0 +1,36 @@
+package com.sportscenter.booking.dto;
+
+import java.time.LocalDateTime;
+
+// vue partielle d'une activité renvoyée par activity-service
+public class ActivitySummaryDTO {
+
+    private Long id;
+    private String name;
+    private String coach;
+    private Integer maxCapacity;
+    private Integer currentParticipants;
+    private LocalDateTime startTime;
+    private LocalDateTime endTime;
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+
+    public String getCoach() { return coach; }
+    public void setCoach(String coach) { this.coach = coach; }
+
+    public Integer getMaxCapacity() { return maxCapacity; }
+    public void setMaxCapacity(Integer maxCapacity) { this.maxCapacity = maxCapacity; }
+
+    public Integer getCurrentParticipants() { return currentParticipants; }
+    public void setCurrentParticipants(Integer currentParticipants) { this.currentParticipants = currentParticipants; }
+
+    public LocalDateTime getStartTime() { return startTime; }
+    public void setStartTime(LocalDateTime startTime) { this.startTime = startTime; }
+
+    public LocalDateTime getEndTime() { return endTime; }
+    public void setEndTime(LocalDateTime endTime) { this.endTime = endTime; }
+}
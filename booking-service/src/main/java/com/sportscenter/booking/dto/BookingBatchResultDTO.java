@@ -0,0 +1,45 @@
+package com.sportscenter.booking.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+// résultat d'un élément d'une opération groupée (création en lot, annulation d'une activité)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BookingBatchResultDTO {
+
+    public static final String REJECTED = "REJECTED";
+
+    private Integer index;
+    private Long bookingId;
+    private Long memberId;
+    private Long activityId;
+    private String status;
+    private String error;
+
+    public static BookingBatchResultDTO rejected(int index, BookingDTO item, String error) {
+        BookingBatchResultDTO result = new BookingBatchResultDTO();
+        result.setIndex(index);
+        result.setMemberId(item.getMemberId());
+        result.setActivityId(item.getActivityId());
+        result.setStatus(REJECTED);
+        result.setError(error);
+        return result;
+    }
+
+    public Integer getIndex() { return index; }
+    public void setIndex(Integer index) { this.index = index; }
+
+    public Long getBookingId() { return bookingId; }
+    public void setBookingId(Long bookingId) { this.bookingId = bookingId; }
+
+    public Long getMemberId() { return memberId; }
+    public void setMemberId(Long memberId) { this.memberId = memberId; }
+
+    public Long getActivityId() { return activityId; }
+    public void setActivityId(Long activityId) { this.activityId = activityId; }
+
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+
+    public String getError() { return error; }
+    public void setError(String error) { this.error = error; }
+}
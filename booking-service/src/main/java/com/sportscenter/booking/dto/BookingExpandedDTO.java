@@ -0,0 +1,30 @@
+package com.sportscenter.booking.dto;
+
+// réservation + résumés membre / activité (null si le service distant ne répond pas)
+public class BookingExpandedDTO {
+
+    private Long id;
+    private Long memberId;
+    private Long activityId;
+    private String status;
+    private MemberSummaryDTO member;
+    private ActivitySummaryDTO activity;
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public Long getMemberId() { return memberId; }
+    public void setMemberId(Long memberId) { this.memberId = memberId; }
+
+    public Long getActivityId() { return activityId; }
+    public void setActivityId(Long activityId) { this.activityId = activityId; }
+
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+
+    public MemberSummaryDTO getMember() { return member; }
+    public void setMember(MemberSummaryDTO member) { this.member = member; }
+
+    public ActivitySummaryDTO getActivity() { return activity; }
+    public void setActivity(ActivitySummaryDTO activity) { this.activity = activity; }
+}
@@ -0,0 +1,28 @@
+package com.sportscenter.booking.dto;
+
+import java.util.List;
+import java.util.Map;
+
+public class BookingStatsDTO {
+
+    private long total;
+    private long today;
+    private Map<String, Long> byStatus;
+    private Map<String, Long> byDay;
+    private List<BookingDTO> recent;
+
+    public long getTotal() { return total; }
+    public void setTotal(long total) { this.total = total; }
+
+    public long getToday() { return today; }
+    public void setToday(long today) { this.today = today; }
+
+    public Map<String, Long> getByStatus() { return byStatus; }
+    public void setByStatus(Map<String, Long> byStatus) { this.byStatus = byStatus; }
+
+    public Map<String, Long> getByDay() { return byDay; }
+    public void setByDay(Map<String, Long> byDay) { this.byDay = byDay; }
+
+    public List<BookingDTO> getRecent() { return recent; }
+    public void setRecent(List<BookingDTO> recent) { this.recent = recent; }
+}
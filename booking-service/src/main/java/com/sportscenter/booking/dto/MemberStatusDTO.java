@@ -0,0 +1,14 @@
+package com.sportscenter.booking.dto;
+
+// statut d'abonnement d'un membre (instantané GET /api/members/statuses de member-service)
+public class MemberStatusDTO {
+
+    private Long id;
+    private String status;
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+}
@@ -6,7 +6,12 @@ import javax.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "bookings")
+// index créés par db/migration/V2 (déclarés ici pour la validation du schéma)
+@Table(name = "bookings", indexes = {
+        @Index(name = "idx_bookings_member_date", columnList = "member_id, booking_date"),
+        @Index(name = "idx_bookings_activity_status", columnList = "activity_id, status"),
+        @Index(name = "idx_bookings_status_date", columnList = "status, booking_date")
+})
 public class Booking {
 
     @Id
@@ -41,7 +46,10 @@ public class Booking {
 
     @PrePersist
     protected void onCreate() {
-        this.status = BookingStatus.CONFIRMED;
+        // PENDING = liste d'attente, sinon confirmée par défaut
+        if (this.status == null) {
+            this.status = BookingStatus.CONFIRMED;
+        }
         this.bookingDate = LocalDateTime.now();
         this.createdAt = LocalDateTime.now();
         this.updatedAt = LocalDateTime.now();
@@ -1,13 +1,93 @@
 package com.sportscenter.booking.repository;
 
 import com.sportscenter.booking.entity.Booking;
+import com.sportscenter.booking.entity.BookingStatus;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import javax.persistence.LockModeType;
+import javax.persistence.QueryHint;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface BookingRepository extends JpaRepository<Booking, Long> {
     List<Booking> findByMemberId(Long memberId);
+    List<Booking> findByMemberIdIn(Collection<Long> memberIds);
     List<Booking> findByActivityId(Long activityId);
+
+    List<Booking> findTop5ByOrderByIdDesc();
+
+    // liste d'attente d'une activité, dans l'ordre d'arrivée
+    @Query("SELECT b.id FROM Booking b WHERE b.activityId = :activityId AND b.status = :status ORDER BY b.id")
+    List<Long> findIdsByActivityIdAndStatus(@Param("activityId") Long activityId,
+                                            @Param("status") BookingStatus status);
+
+    // ne confirme que si la réservation est toujours en attente (annulée entre-temps = 0 ligne)
+    @Transactional
+    @Modifying
+    @Query("UPDATE Booking b SET b.status = com.sportscenter.booking.entity.BookingStatus.CONFIRMED, "
+            + "b.updatedAt = CURRENT_TIMESTAMP "
+            + "WHERE b.id = :id AND b.status = com.sportscenter.booking.entity.BookingStatus.PENDING")
+    int confirmIfPending(@Param("id") Long id);
+
+    // statut lu en base (pas dans le contexte de persistance) : point de départ des transitions conditionnelles
+    @Query("SELECT b.status FROM Booking b WHERE b.id = :id")
+    BookingStatus findStatusById(@Param("id") Long id);
+
+    // annulation conditionnelle : 0 ligne si le statut a changé entre-temps (autre annulation, promotion)
+    @Modifying
+    @Query("UPDATE Booking b SET b.status = com.sportscenter.booking.entity.BookingStatus.CANCELLED, "
+            + "b.cancellationDate = :now, b.updatedAt = :now WHERE b.id = :id AND b.status = :expected")
+    int cancelIfStatus(@Param("id") Long id, @Param("expected") BookingStatus expected,
+                       @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("DELETE FROM Booking b WHERE b.id = :id AND b.status = :expected")
+    int deleteIfStatus(@Param("id") Long id, @Param("expected") BookingStatus expected);
+
+    // réservations encore actives d'une activité, verrouillées jusqu'à la fin de la transaction
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b FROM Booking b WHERE b.activityId = :activityId "
+            + "AND b.status <> com.sportscenter.booking.entity.BookingStatus.CANCELLED ORDER BY b.id")
+    List<Booking> findActiveByActivityIdForUpdate(@Param("activityId") Long activityId);
+
+    // annulation groupée : un UPDATE par lot d'identifiants
+    @Modifying
+    @Query("UPDATE Booking b SET b.status = com.sportscenter.booking.entity.BookingStatus.CANCELLED, "
+            + "b.cancellationDate = :now, b.updatedAt = :now WHERE b.id IN :ids")
+    int cancelAllByIds(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+
+    // occupation par activité (index activity_id, status) ; réservations annulées exclues
+    @Query("SELECT b.activityId, b.status, COUNT(b) FROM Booking b "
+            + "WHERE b.status <> com.sportscenter.booking.entity.BookingStatus.CANCELLED "
+            + "GROUP BY b.activityId, b.status")
+    List<Object[]> countActiveByActivity();
+
+    @Query("SELECT b.status, COUNT(b) FROM Booking b GROUP BY b.status")
+    List<Object[]> countByStatus();
+
+    @Query("SELECT CAST(b.bookingDate AS date), COUNT(b) FROM Booking b "
+            + "WHERE b.bookingDate >= :since GROUP BY CAST(b.bookingDate AS date)")
+    List<Object[]> countByDaySince(@Param("since") LocalDateTime since);
+
+    // pagination par curseur (keyset) : WHERE id > :after ORDER BY id LIMIT :limit
+    List<Booking> findByIdGreaterThanOrderByIdAsc(Long after, Pageable pageable);
+
+    // Integer.MIN_VALUE = lecture ligne par ligne côté MySQL Connector/J
+    @QueryHints({
+            @QueryHint(name = org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE),
+            @QueryHint(name = org.hibernate.jpa.QueryHints.HINT_READONLY, value = "true")
+    })
+    @Query("SELECT b FROM Booking b ORDER BY b.id")
+    Stream<Booking> streamAll();
 }
@@ -0,0 +1,27 @@
+package com.sportscenter.booking.repository;
+
+import com.sportscenter.booking.entity.PendingSeatRelease;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import javax.persistence.LockModeType;
+import javax.persistence.QueryHint;
+import java.util.List;
+
+public interface PendingSeatReleaseRepository extends JpaRepository<PendingSeatRelease, Long> {
+
+    // FOR UPDATE SKIP LOCKED : une ligne n'est rendue que par une instance (ou un appel) à la fois
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "javax.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT r FROM PendingSeatRelease r ORDER BY r.id")
+    List<PendingSeatRelease> claimPending(Pageable pageable);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "javax.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT r FROM PendingSeatRelease r WHERE r.id = :id")
+    List<PendingSeatRelease> claimById(@Param("id") Long id);
+}
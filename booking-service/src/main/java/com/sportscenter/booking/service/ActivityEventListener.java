@@ -0,0 +1,26 @@
+package com.sportscenter.booking.service;
+
+import com.sportscenter.common.event.DomainEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+// événements d'activity-service : caches locaux invalidés sans interroger activity-service
+@Component
+public class ActivityEventListener {
+
+    private final MemberScheduleService memberScheduleService;
+    private final SeatReservationService seatReservationService;
+
+    public ActivityEventListener(MemberScheduleService memberScheduleService,
+                                 SeatReservationService seatReservationService) {
+        this.memberScheduleService = memberScheduleService;
+        this.seatReservationService = seatReservationService;
+    }
+
+    @EventListener(condition = "#event.type == T(com.sportscenter.common.event.DomainEvent).ACTIVITY_UPDATED")
+    public void onActivityUpdated(DomainEvent event) {
+        Long activityId = event.getAggregateId();
+        memberScheduleService.evictActivity(activityId);
+        seatReservationService.evict(activityId);
+    }
+}
@@ -0,0 +1,380 @@
+package com.sportscenter.booking.service;
+
+import com.sportscenter.booking.dto.BookingBatchResultDTO;
+import com.sportscenter.booking.dto.BookingDTO;
+import com.sportscenter.booking.entity.Booking;
+import com.sportscenter.booking.entity.BookingStatus;
+import com.sportscenter.booking.entity.PendingSeatRelease;
+import com.sportscenter.booking.repository.BookingRepository;
+import com.sportscenter.common.event.OutboxService;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Opérations groupées sur les réservations (groupe scolaire, coach absent).
+ *
+ * Au lieu de N appels createBooking / cancelBooking (chacun avec ses allers-retours) :
+ * - plannings des membres et horaires chargés en une requête + un appel groupé ;
+ * - places prises par activité en un seul UPDATE conditionnel côté activity-service ;
+ * - insertions en un batch JDBC, annulations en UPDATE ... WHERE id IN, dans une seule transaction ;
+ * - aucun verrou de membre pendant les appels réseau : chaque créneau est retenu puis confirmé
+ *   (voir {@link MemberScheduleService#hold}).
+ */
+@Service
+public class BookingBatchService {
+
+    private static final int UPDATE_CHUNK_SIZE = 1000;
+
+    private static final String INSERT_SQL = "INSERT INTO bookings "
+            + "(member_id, activity_id, status, booking_date, created_at, updated_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?)";
+
+    private final BookingRepository bookingRepository;
+    private final SeatReservationService seatReservationService;
+    private final WaitlistService waitlistService;
+    private final MemberScheduleService memberScheduleService;
+    private final MemberStatusProjection memberStatusProjection;
+    private final SeatReleaseService seatReleaseService;
+    private final OutboxService outboxService;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    public BookingBatchService(BookingRepository bookingRepository,
+                               SeatReservationService seatReservationService,
+                               WaitlistService waitlistService,
+                               MemberScheduleService memberScheduleService,
+                               MemberStatusProjection memberStatusProjection,
+                               SeatReleaseService seatReleaseService,
+                               OutboxService outboxService,
+                               JdbcTemplate jdbcTemplate,
+                               TransactionTemplate transactionTemplate) {
+        this.bookingRepository = bookingRepository;
+        this.seatReservationService = seatReservationService;
+        this.waitlistService = waitlistService;
+        this.memberScheduleService = memberScheduleService;
+        this.memberStatusProjection = memberStatusProjection;
+        this.seatReleaseService = seatReleaseService;
+        this.outboxService = outboxService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    /* =========================
+       CRÉATION EN LOT
+    ========================= */
+
+    /**
+     * Mêmes règles que createBooking pour chaque élément (chevauchement, places,
+     * liste d'attente). Un élément refusé n'empêche pas les autres ; une erreur
+     * d'insertion annule tout le lot et rend les places.
+     */
+    public List<BookingBatchResultDTO> createBookings(List<BookingDTO> items) {
+        BookingBatchResultDTO[] results = new BookingBatchResultDTO[items.size()];
+
+        // membres absents de la projection des statuts : un seul appel groupé
+        Set<Long> requested = new HashSet<>();
+        for (BookingDTO item : items) {
+            if (item != null && item.getMemberId() != null) {
+                requested.add(item.getMemberId());
+            }
+        }
+        memberStatusProjection.preload(requested);
+
+        // éléments valides regroupés par activité, dans l'ordre de la requête
+        Map<Long, List<Integer>> byActivity = new LinkedHashMap<>();
+        Set<Long> memberIds = new HashSet<>();
+        Set<String> pairs = new HashSet<>();
+        for (int i = 0; i < items.size(); i++) {
+            BookingDTO item = items.get(i) != null ? items.get(i) : new BookingDTO();
+            String ineligible;
+            if (item.getMemberId() == null || item.getActivityId() == null) {
+                results[i] = BookingBatchResultDTO.rejected(i, item, "memberId et activityId obligatoires");
+            } else if ((ineligible = memberStatusProjection.ineligibility(item.getMemberId())) != null) {
+                results[i] = BookingBatchResultDTO.rejected(i, item, ineligible);
+            } else if (!pairs.add(item.getMemberId() + ":" + item.getActivityId())) {
+                results[i] = BookingBatchResultDTO.rejected(i, item, "Réservation en double dans le lot");
+            } else {
+                byActivity.computeIfAbsent(item.getActivityId(), id -> new ArrayList<>()).add(i);
+                memberIds.add(item.getMemberId());
+            }
+        }
+
+        if (!memberIds.isEmpty()) {
+            memberScheduleService.preload(memberIds, byActivity.keySet());
+            book(items, byActivity, results);
+        }
+        return Arrays.asList(results);
+    }
+
+    private void book(List<BookingDTO> items, Map<Long, List<Integer>> byActivity,
+                      BookingBatchResultDTO[] results) {
+        PendingBatch batch = new PendingBatch(items.size());
+        long[] holds = batch.holds;
+
+        try {
+            try {
+                reserve(items, byActivity, results, batch);
+                if (!batch.bookings.isEmpty()) {
+                    insertWithEvents(batch.bookings);
+                }
+            } catch (RuntimeException | Error e) {
+                // toute erreur avant le commit (réseau, liste d'attente, insertion) : places rendues
+                releaseSeats(batch.seatsTaken, e);
+                throw e;
+            }
+
+            for (int n = 0; n < batch.bookings.size(); n++) {
+                Booking booking = batch.bookings.get(n);
+                int i = batch.indexes.get(n);
+                memberScheduleService.confirmHold(booking.getMemberId(), holds[i], booking.getId(), batch.slots[i]);
+                holds[i] = 0;
+                if (booking.getStatus() == BookingStatus.PENDING) {
+                    waitlistService.enqueue(booking);
+                }
+
+                BookingBatchResultDTO result = new BookingBatchResultDTO();
+                result.setIndex(i);
+                result.setBookingId(booking.getId());
+                result.setMemberId(booking.getMemberId());
+                result.setActivityId(booking.getActivityId());
+                result.setStatus(booking.getStatus().name());
+                results[i] = result;
+            }
+        } finally {
+            for (int i = 0; i < holds.length; i++) {
+                if (holds[i] != 0) {
+                    memberScheduleService.remove(items.get(i).getMemberId(), holds[i]);
+                }
+            }
+        }
+    }
+
+    // contrôles, retenue des créneaux et places prises par activité ; réservations prêtes à insérer
+    private void reserve(List<BookingDTO> items, Map<Long, List<Integer>> byActivity,
+                         BookingBatchResultDTO[] results, PendingBatch batch) {
+        for (Map.Entry<Long, List<Integer>> group : byActivity.entrySet()) {
+            Long activityId = group.getKey();
+
+            List<Integer> accepted = new ArrayList<>();
+            for (int i : group.getValue()) {
+                BookingDTO item = items.get(i);
+                String error = checkSchedule(item, i, batch);
+                if (error != null) {
+                    results[i] = BookingBatchResultDTO.rejected(i, item, error);
+                } else {
+                    accepted.add(i);
+                }
+            }
+            if (accepted.isEmpty()) {
+                continue;
+            }
+
+            int seats;
+            try {
+                seats = seatReservationService.tryReserveUpTo(activityId, accepted.size());
+            } catch (RestClientException e) {
+                for (int i : accepted) {
+                    results[i] = BookingBatchResultDTO.rejected(i, items.get(i), "Activité indisponible : " + activityId);
+                }
+                continue;
+            }
+            if (seats > 0) {
+                batch.seatsTaken.put(activityId, seats);
+            }
+            if (seats < accepted.size()) {
+                waitlistService.prepare(activityId);
+            }
+
+            // premiers arrivés confirmés, les suivants en liste d'attente
+            for (int n = 0; n < accepted.size(); n++) {
+                int i = accepted.get(n);
+                Booking booking = new Booking();
+                booking.setMemberId(items.get(i).getMemberId());
+                booking.setActivityId(activityId);
+                booking.setStatus(n < seats ? BookingStatus.CONFIRMED : BookingStatus.PENDING);
+                batch.bookings.add(booking);
+                batch.indexes.add(i);
+            }
+        }
+    }
+
+    private void insertWithEvents(List<Booking> bookings) {
+        transactionTemplate.executeWithoutResult(status -> {
+            insert(bookings);
+            List<OutboxService.Entry> events = new ArrayList<>(bookings.size());
+            for (Booking booking : bookings) {
+                events.add(BookingEvents.created(booking));
+            }
+            outboxService.recordAll(events);
+        });
+    }
+
+    // chaque activité est tentée ; une libération impossible est enregistrée pour nouvel essai
+    private void releaseSeats(Map<Long, Integer> seatsTaken, Throwable cause) {
+        seatsTaken.forEach((activityId, seats) -> {
+            try {
+                seatReleaseService.release(activityId, seats);
+            } catch (RuntimeException releaseFailure) {
+                cause.addSuppressed(releaseFailure);
+            }
+        });
+    }
+
+    // chevauchement avec les autres éléments du lot du membre, puis retenue dans son planning
+    private String checkSchedule(BookingDTO item, int index, PendingBatch batch) {
+        MemberScheduleService.TimeSlot slot;
+        try {
+            slot = memberScheduleService.activitySlot(item.getActivityId());
+        } catch (RestClientException e) {
+            return "Activité introuvable : " + item.getActivityId();
+        }
+        if (slot == null) {
+            return null;
+        }
+
+        List<MemberScheduleService.TimeSlot> taken =
+                batch.memberSlots.computeIfAbsent(item.getMemberId(), id -> new ArrayList<>());
+        for (MemberScheduleService.TimeSlot other : taken) {
+            if (other.overlaps(slot)) {
+                return "Conflit d'horaire avec une autre réservation du lot";
+            }
+        }
+
+        long holdId = memberScheduleService.nextHoldId();
+        try {
+            memberScheduleService.hold(item.getMemberId(), slot, holdId);
+        } catch (ResponseStatusException e) {
+            return e.getReason();
+        }
+        batch.holds[index] = holdId;
+        batch.slots[index] = slot;
+        taken.add(slot);
+        return null;
+    }
+
+    // un seul aller-retour (INSERT multi-lignes avec rewriteBatchedStatements), ids relus ensuite
+    private void insert(List<Booking> bookings) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            try (PreparedStatement ps = connection.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS)) {
+                for (Booking booking : bookings) {
+                    ps.setLong(1, booking.getMemberId());
+                    ps.setLong(2, booking.getActivityId());
+                    ps.setString(3, booking.getStatus().name());
+                    ps.setTimestamp(4, now);
+                    ps.setTimestamp(5, now);
+                    ps.setTimestamp(6, now);
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+
+                try (ResultSet keys = ps.getGeneratedKeys()) {
+                    for (Booking booking : bookings) {
+                        if (!keys.next()) {
+                            throw new IllegalStateException("Identifiants générés manquants pour le lot");
+                        }
+                        booking.setId(keys.getLong(1));
+                    }
+                }
+            }
+            return null;
+        });
+    }
+
+    /* =========================
+       ANNULATION D'UNE ACTIVITÉ
+    ========================= */
+
+    /**
+     * Annule toutes les réservations actives de l'activité (confirmées et en attente)
+     * et rend les places à activity-service en un seul appel. Les places à rendre sont
+     * enregistrées dans la transaction de l'annulation : si activity-service ne répond pas,
+     * elles sont retentées en tâche de fond (voir {@link SeatReleaseService}).
+     */
+    public List<BookingBatchResultDTO> cancelAllForActivity(Long activityId) {
+        PendingSeatRelease[] release = new PendingSeatRelease[1];
+        List<Booking> cancelled = transactionTemplate.execute(status -> {
+            List<Booking> active = bookingRepository.findActiveByActivityIdForUpdate(activityId);
+            List<Long> ids = new ArrayList<>(active.size());
+            for (Booking booking : active) {
+                ids.add(booking.getId());
+            }
+            LocalDateTime now = LocalDateTime.now();
+            for (int from = 0; from < ids.size(); from += UPDATE_CHUNK_SIZE) {
+                bookingRepository.cancelAllByIds(ids.subList(from, Math.min(from + UPDATE_CHUNK_SIZE, ids.size())), now);
+            }
+
+            List<OutboxService.Entry> events = new ArrayList<>(active.size());
+            for (Booking booking : active) {
+                events.add(BookingEvents.cancelled(booking, booking.getStatus(), false));
+            }
+            outboxService.recordAll(events);
+
+            int seats = 0;
+            for (Booking booking : active) {
+                if (booking.getStatus() == BookingStatus.CONFIRMED) {
+                    seats++;
+                }
+            }
+            if (seats > 0) {
+                release[0] = seatReleaseService.record(activityId, seats);
+            }
+            return active;
+        });
+
+        // plus personne à promouvoir : la file d'attente est vidée
+        waitlistService.clear(activityId);
+
+        if (release[0] != null) {
+            seatReleaseService.releaseRecorded(release[0]);
+        }
+
+        List<BookingBatchResultDTO> results = new ArrayList<>(cancelled.size());
+        for (Booking booking : cancelled) {
+            memberScheduleService.remove(booking.getMemberId(), booking.getId());
+
+            BookingBatchResultDTO result = new BookingBatchResultDTO();
+            result.setBookingId(booking.getId());
+            result.setMemberId(booking.getMemberId());
+            result.setActivityId(activityId);
+            result.setStatus(BookingStatus.CANCELLED.name());
+            results.add(result);
+        }
+        return results;
+    }
+
+    // état d'un lot en cours de création, indexé comme la requête
+    private static final class PendingBatch {
+
+        final MemberScheduleService.TimeSlot[] slots;
+        // créneaux retenus dans les plannings (0 : aucun), confirmés après l'insertion sinon libérés
+        final long[] holds;
+        final Map<Long, List<MemberScheduleService.TimeSlot>> memberSlots = new HashMap<>();
+        final Map<Long, Integer> seatsTaken = new LinkedHashMap<>();
+        final List<Booking> bookings = new ArrayList<>();
+        final List<Integer> indexes = new ArrayList<>();
+
+        PendingBatch(int size) {
+            this.slots = new MemberScheduleService.TimeSlot[size];
+            this.holds = new long[size];
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.sportscenter.booking.service;
+
+import com.sportscenter.booking.entity.Booking;
+import com.sportscenter.booking.entity.BookingStatus;
+import com.sportscenter.common.event.DomainEvent;
+import com.sportscenter.common.event.OutboxService;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// événements de l'outbox pour une réservation (payload commun aux créations unitaires et groupées)
+final class BookingEvents {
+
+    static final String AGGREGATE = "Booking";
+
+    private BookingEvents() {
+    }
+
+    static OutboxService.Entry created(Booking booking) {
+        return new OutboxService.Entry(DomainEvent.BOOKING_CREATED, AGGREGATE, booking.getId(), payload(booking));
+    }
+
+    // promotion depuis la liste d'attente
+    static OutboxService.Entry confirmed(Long bookingId, Long activityId) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("bookingId", bookingId);
+        payload.put("activityId", activityId);
+        payload.put("status", BookingStatus.CONFIRMED.name());
+        payload.put("previousStatus", BookingStatus.PENDING.name());
+        return new OutboxService.Entry(DomainEvent.BOOKING_CONFIRMED, AGGREGATE, bookingId, payload);
+    }
+
+    // previousStatus = CONFIRMED : une place a été libérée ; deleted : ligne supprimée et non annulée
+    static OutboxService.Entry cancelled(Booking booking, BookingStatus previousStatus, boolean deleted) {
+        Map<String, Object> payload = payload(booking);
+        payload.put("status", BookingStatus.CANCELLED.name());
+        payload.put("previousStatus", previousStatus.name());
+        if (deleted) {
+            payload.put("deleted", true);
+        }
+        return new OutboxService.Entry(DomainEvent.BOOKING_CANCELLED, AGGREGATE, booking.getId(), payload);
+    }
+
+    private static Map<String, Object> payload(Booking booking) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("bookingId", booking.getId());
+        payload.put("memberId", booking.getMemberId());
+        payload.put("activityId", booking.getActivityId());
+        payload.put("status", booking.getStatus().name());
+        return payload;
+    }
+}
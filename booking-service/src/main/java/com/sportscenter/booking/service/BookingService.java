@@ -1,37 +1,150 @@
 package com.sportscenter.booking.service;
 
+import com.sportscenter.booking.client.ActivityClient;
+import com.sportscenter.booking.client.MemberClient;
+import com.sportscenter.booking.dto.ActivityOccupancyDTO;
+import com.sportscenter.booking.dto.ActivitySummaryDTO;
 import com.sportscenter.booking.dto.BookingDTO;
+import com.sportscenter.booking.dto.BookingExpandedDTO;
+import com.sportscenter.booking.dto.BookingStatsDTO;
+import com.sportscenter.booking.dto.MemberSummaryDTO;
 import com.sportscenter.booking.entity.Booking;
 import com.sportscenter.booking.entity.BookingStatus;
 import com.sportscenter.booking.repository.BookingRepository;
+import com.sportscenter.common.event.OutboxService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.sql.Date;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class BookingService {
 
+    private static final Logger log = LoggerFactory.getLogger(BookingService.class);
+
     @Autowired
     private BookingRepository bookingRepository;
 
+    @Autowired
+    private SeatReservationService seatReservationService;
+
+    @Autowired
+    private WaitlistService waitlistService;
+
+    @Autowired
+    private MemberScheduleService memberScheduleService;
+
+    @Autowired
+    private MemberStatusProjection memberStatusProjection;
+
+    @Autowired
+    private OutboxService outboxService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private MemberClient memberClient;
+
+    @Autowired
+    private ActivityClient activityClient;
+
+    @Autowired
+    @Qualifier("lookupExecutor")
+    private Executor lookupExecutor;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
     /* =========================
        CREATE
     ========================= */
 
     public BookingDTO createBooking(BookingDTO dto) {
-        Booking booking = new Booking();
-        booking.setMemberId(dto.getMemberId());
-        booking.setActivityId(dto.getActivityId());
+        // abonnement ACTIVE exigé : lecture de la projection locale, sans appel à member-service
+        memberStatusProjection.checkEligible(dto.getMemberId());
+
+        // planning et horaire chargés hors verrou, puis créneau retenu sous le verrou du membre
+        // (id provisoire négatif, 409 en cas de chevauchement) : une réservation simultanée du
+        // même membre le voit, et ni l'appel à activity-service ni l'insertion ne tiennent le verrou
+        MemberScheduleService.TimeSlot slot = memberScheduleService.activitySlot(dto.getActivityId());
+        memberScheduleService.preload(List.of(dto.getMemberId()), List.of(dto.getActivityId()));
+        long holdId = memberScheduleService.nextHoldId();
+        if (slot != null) {
+            memberScheduleService.hold(dto.getMemberId(), slot, holdId);
+        }
+
+        boolean confirmed = false;
+        try {
+            // place prise avant l'insertion : pas de surréservation possible
+            boolean seatTaken = seatReservationService.tryReserve(dto.getActivityId());
+            if (!seatTaken) {
+                waitlistService.prepare(dto.getActivityId());
+            }
+
+            Booking booking = new Booking();
+            booking.setMemberId(dto.getMemberId());
+            booking.setActivityId(dto.getActivityId());
 
-        // sécurité : statut forcé backend
-        booking.setStatus(BookingStatus.CONFIRMED);
-        booking.setBookingDate(LocalDateTime.now());
+            // sécurité : statut forcé backend (complet = liste d'attente)
+            booking.setStatus(seatTaken ? BookingStatus.CONFIRMED : BookingStatus.PENDING);
+            booking.setBookingDate(LocalDateTime.now());
 
-        Booking saved = bookingRepository.save(booking);
-        return convertToDTO(saved);
+            Booking saved;
+            try {
+                // réservation + événement BookingCreated dans la même transaction
+                saved = transactionTemplate.execute(status -> {
+                    Booking inserted = bookingRepository.save(booking);
+                    outboxService.record(BookingEvents.created(inserted));
+                    return inserted;
+                });
+            } catch (RuntimeException e) {
+                if (seatTaken) {
+                    // l'erreur d'insertion reste celle remontée, même si la place ne peut pas être rendue
+                    try {
+                        seatReservationService.release(dto.getActivityId());
+                    } catch (RuntimeException releaseFailure) {
+                        e.addSuppressed(releaseFailure);
+                    }
+                }
+                throw e;
+            }
+
+            memberScheduleService.confirmHold(saved.getMemberId(), holdId, saved.getId(), slot);
+            confirmed = true;
+            if (!seatTaken) {
+                waitlistService.enqueue(saved);
+            }
+            return convertToDTO(saved);
+        } finally {
+            // place refusée par une erreur ou insertion échouée : le créneau retenu est libéré
+            if (!confirmed && slot != null) {
+                memberScheduleService.remove(dto.getMemberId(), holdId);
+            }
+        }
     }
 
     /* =========================
@@ -54,6 +167,66 @@ public class BookingService {
                 .collect(Collectors.toList());
     }
 
+    public List<BookingDTO> getBookingsPage(Long after, int limit) {
+        return bookingRepository.findByIdGreaterThanOrderByIdAsc(after != null ? after : 0L, PageRequest.of(0, limit))
+                .stream()
+                .map(this::convertToDTO)
+                .collect(Collectors.toList());
+    }
+
+    // le flux JDBC reste ouvert dans la transaction ; chaque entité est détachée
+    // après écriture pour que le contexte de persistance ne grossisse pas
+    @Transactional(readOnly = true)
+    public void streamAllBookings(Consumer<BookingDTO> consumer) {
+        try (Stream<Booking> bookings = bookingRepository.streamAll()) {
+            bookings.forEach(booking -> {
+                consumer.accept(convertToDTO(booking));
+                entityManager.detach(booking);
+            });
+        }
+    }
+
+    /**
+     * Page de réservations enrichie : un seul appel groupé par service distant,
+     * lancés en parallèle, quelle que soit la taille de la page.
+     */
+    public List<BookingExpandedDTO> getExpandedBookingsPage(Long after, int limit) {
+        List<Booking> bookings = bookingRepository.findByIdGreaterThanOrderByIdAsc(
+                after != null ? after : 0L, PageRequest.of(0, limit));
+
+        Set<Long> memberIds = bookings.stream().map(Booking::getMemberId).collect(Collectors.toSet());
+        Set<Long> activityIds = bookings.stream().map(Booking::getActivityId).collect(Collectors.toSet());
+
+        CompletableFuture<Map<Long, MemberSummaryDTO>> members =
+                lookup(() -> memberClient.getMembers(memberIds), MemberSummaryDTO::getId);
+        CompletableFuture<Map<Long, ActivitySummaryDTO>> activities =
+                lookup(() -> activityClient.getActivities(activityIds), ActivitySummaryDTO::getId);
+
+        Map<Long, MemberSummaryDTO> membersById = members.join();
+        Map<Long, ActivitySummaryDTO> activitiesById = activities.join();
+
+        return bookings.stream().map(booking -> {
+            BookingExpandedDTO dto = new BookingExpandedDTO();
+            dto.setId(booking.getId());
+            dto.setMemberId(booking.getMemberId());
+            dto.setActivityId(booking.getActivityId());
+            dto.setStatus(convertToDTO(booking).getStatus());
+            dto.setMember(membersById.get(booking.getMemberId()));
+            dto.setActivity(activitiesById.get(booking.getActivityId()));
+            return dto;
+        }).collect(Collectors.toList());
+    }
+
+    // service distant indisponible : la page est renvoyée sans les résumés
+    private <T> CompletableFuture<Map<Long, T>> lookup(Supplier<List<T>> call, Function<T, Long> idOf) {
+        return CompletableFuture.supplyAsync(call, lookupExecutor)
+                .thenApply(list -> list.stream().collect(Collectors.toMap(idOf, Function.identity(), (a, b) -> a)))
+                .exceptionally(e -> {
+                    log.warn("Résumés indisponibles pour la vue enrichie", e);
+                    return Collections.emptyMap();
+                });
+    }
+
     public List<BookingDTO> getBookingsByMember(Long memberId) {
         return bookingRepository.findByMemberId(memberId)
                 .stream()
@@ -68,21 +241,124 @@ public class BookingService {
                 .collect(Collectors.toList());
     }
 
+    /* =========================
+       STATS (tableau de bord)
+    ========================= */
+
+    public BookingStatsDTO getStats(int days) {
+        Map<String, Long> byStatus = new LinkedHashMap<>();
+        for (BookingStatus status : BookingStatus.values()) {
+            byStatus.put(status.name(), 0L);
+        }
+
+        long total = 0;
+        for (Object[] row : bookingRepository.countByStatus()) {
+            long count = ((Number) row[1]).longValue();
+            total += count;
+            byStatus.put(((BookingStatus) row[0]).name(), count);
+        }
+
+        // jours sans réservation inclus à 0 pour garder une série continue
+        LocalDate today = LocalDate.now();
+        LocalDate since = today.minusDays(days - 1L);
+        Map<String, Long> byDay = new LinkedHashMap<>();
+        for (LocalDate day = since; !day.isAfter(today); day = day.plusDays(1)) {
+            byDay.put(day.toString(), 0L);
+        }
+        for (Object[] row : bookingRepository.countByDaySince(since.atStartOfDay())) {
+            byDay.put(toLocalDate(row[0]).toString(), ((Number) row[1]).longValue());
+        }
+
+        BookingStatsDTO stats = new BookingStatsDTO();
+        stats.setTotal(total);
+        stats.setByStatus(byStatus);
+        stats.setByDay(byDay);
+        stats.setToday(byDay.getOrDefault(today.toString(), 0L));
+        stats.setRecent(bookingRepository.findTop5ByOrderByIdDesc()
+                .stream()
+                .map(this::convertToDTO)
+                .collect(Collectors.toList()));
+        return stats;
+    }
+
+    // un GROUP BY sur l'index (activity_id, status), une ligne par activité ayant des réservations
+    public List<ActivityOccupancyDTO> getOccupancy() {
+        Map<Long, ActivityOccupancyDTO> byActivity = new LinkedHashMap<>();
+        for (Object[] row : bookingRepository.countActiveByActivity()) {
+            Long activityId = (Long) row[0];
+            long count = ((Number) row[2]).longValue();
+            ActivityOccupancyDTO occupancy = byActivity.computeIfAbsent(activityId, id -> {
+                ActivityOccupancyDTO dto = new ActivityOccupancyDTO();
+                dto.setActivityId(id);
+                return dto;
+            });
+            if (row[1] == BookingStatus.CONFIRMED) {
+                occupancy.setConfirmed(count);
+            } else {
+                occupancy.setPending(count);
+            }
+        }
+        return new ArrayList<>(byActivity.values());
+    }
+
+    private LocalDate toLocalDate(Object value) {
+        return value instanceof Date
+                ? ((Date) value).toLocalDate()
+                : (LocalDate) value;
+    }
+
     /* =========================
        UPDATE
     ========================= */
 
+    /**
+     * Transition conditionnelle (UPDATE ... WHERE status = statut lu) : deux annulations
+     * simultanées, ou une annulation pendant cancelAllForActivity, ne libèrent la place
+     * qu'une seule fois. Statut changé entre la lecture et l'UPDATE : relu et réessayé.
+     */
     public BookingDTO cancelBooking(Long id) {
         Booking booking = bookingRepository.findById(id)
                 .orElseThrow(() ->
                         new RuntimeException("Réservation non trouvée : " + id)
                 );
 
-        booking.setStatus(BookingStatus.CANCELLED);
-        booking.setCancellationDate(LocalDateTime.now());
+        BookingStatus previous;
+        while (true) {
+            previous = bookingRepository.findStatusById(id);
+            if (previous == null) {
+                throw new RuntimeException("Réservation non trouvée : " + id);
+            }
+            // déjà annulée : rien à libérer
+            if (previous == BookingStatus.CANCELLED) {
+                BookingDTO dto = convertToDTO(booking);
+                dto.setStatus(BookingStatus.CANCELLED.name());
+                return dto;
+            }
+            if (cancel(booking, previous)) {
+                break;
+            }
+        }
+
+        memberScheduleService.remove(booking.getMemberId(), booking.getId());
+        if (previous == BookingStatus.CONFIRMED) {
+            // asynchrone : l'annulation n'attend ni la promotion ni activity-service
+            waitlistService.handOverSeat(booking.getActivityId());
+        }
+        BookingDTO dto = convertToDTO(booking);
+        dto.setStatus(BookingStatus.CANCELLED.name());
+        return dto;
+    }
 
-        Booking updated = bookingRepository.save(booking);
-        return convertToDTO(updated);
+    // annulation + événement BookingCancelled dans la même transaction, seulement si la ligne a changé
+    private boolean cancel(Booking booking, BookingStatus expected) {
+        Boolean cancelled = transactionTemplate.execute(status -> {
+            if (bookingRepository.cancelIfStatus(booking.getId(), expected, LocalDateTime.now()) != 1) {
+                return false;
+            }
+            outboxService.record(BookingEvents.cancelled(booking, expected, false));
+            return true;
+        });
+        return Boolean.TRUE.equals(cancelled);
     }
 
     /* =========================
@@ -90,10 +366,42 @@ public class BookingService {
     ========================= */
 
     public void deleteBooking(Long id) {
-        if (!bookingRepository.existsById(id)) {
-            throw new RuntimeException("Réservation inexistante : " + id);
+        Booking booking = bookingRepository.findById(id)
+                .orElseThrow(() ->
+                        new RuntimeException("Réservation inexistante : " + id)
+                );
+
+        // même principe que l'annulation : DELETE conditionnel sur le statut lu
+        BookingStatus previous;
+        while (true) {
+            previous = bookingRepository.findStatusById(id);
+            if (previous == null) {
+                // supprimée entre-temps par une autre requête : sa place a déjà été rendue
+                return;
+            }
+            if (delete(booking, previous)) {
+                break;
+            }
         }
-        bookingRepository.deleteById(id);
+
+        memberScheduleService.remove(booking.getMemberId(), booking.getId());
+        if (previous == BookingStatus.CONFIRMED) {
+            waitlistService.handOverSeat(booking.getActivityId());
+        }
+    }
+
+    private boolean delete(Booking booking, BookingStatus expected) {
+        Boolean deleted = transactionTemplate.execute(status -> {
+            if (bookingRepository.deleteIfStatus(booking.getId(), expected) != 1) {
+                return false;
+            }
+            // une réservation supprimée sans annulation préalable libère aussi sa place
+            if (expected != BookingStatus.CANCELLED) {
+                outboxService.record(BookingEvents.cancelled(booking, expected, true));
+            }
+            return true;
+        });
+        return Boolean.TRUE.equals(deleted);
     }
 
     /* =========================
@@ -0,0 +1,289 @@
+package com.sportscenter.booking.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.sportscenter.booking.client.ActivityClient;
+import com.sportscenter.booking.dto.ActivitySummaryDTO;
+import com.sportscenter.booking.entity.Booking;
+import com.sportscenter.booking.entity.BookingStatus;
+import com.sportscenter.booking.repository.BookingRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Créneaux déjà réservés par membre, pour refuser une réservation qui chevauche
+ * une autre activité du même membre.
+ *
+ * - horaires des activités mis en cache (pas d'appel activity-service à chaque réservation) ;
+ * - planning d'un membre chargé à la demande depuis findByMemberId, puis tenu à jour ;
+ * - créneaux triés par début : contrôle des seuls débuts compris entre début - (durée max) et fin ;
+ * - plannings rechargés depuis la base après ttl (expireAfterWrite), même pour un membre actif :
+ *   un horaire modifié côté activity-service finit par y être pris en compte ;
+ * - créneau retenu sous un verrou par membre (striping, id provisoire négatif), verrou relâché
+ *   aussitôt, puis confirmé après l'insertion ou libéré : aucun verrou pendant les appels réseau
+ *   ni pendant l'insertion, pour une réservation seule comme pour un lot.
+ */
+@Service
+public class MemberScheduleService {
+
+    private static final int LOCK_STRIPES = 256;
+
+    private final BookingRepository bookingRepository;
+    private final ActivityClient activityClient;
+    private final Cache<Long, MemberSchedule> schedules;
+    private final Cache<Long, TimeSlot> activitySlots;
+    private final ReentrantLock[] locks = new ReentrantLock[LOCK_STRIPES];
+    private final AtomicLong holdIds = new AtomicLong();
+
+    public MemberScheduleService(BookingRepository bookingRepository,
+                                 ActivityClient activityClient,
+                                 @Value("${booking.member-schedule.max-members:50000}") long maxMembers,
+                                 @Value("${booking.member-schedule.ttl:10m}") Duration ttl) {
+        this.bookingRepository = bookingRepository;
+        this.activityClient = activityClient;
+        this.schedules = Caffeine.newBuilder()
+                .maximumSize(maxMembers)
+                .expireAfterWrite(ttl)
+                .build();
+        // horaires modifiables côté activity-service : rechargés après ttl
+        this.activitySlots = Caffeine.newBuilder()
+                .maximumSize(10_000)
+                .expireAfterWrite(ttl)
+                .build();
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new ReentrantLock();
+        }
+    }
+
+    private <T> T withMemberLock(Long memberId, Supplier<T> action) {
+        ReentrantLock lock = locks[Math.floorMod(memberId.hashCode(), LOCK_STRIPES)];
+        lock.lock();
+        try {
+            return action.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // id provisoire d'un créneau retenu (négatif : jamais confondu avec une réservation)
+    public long nextHoldId() {
+        return -holdIds.incrementAndGet();
+    }
+
+    /**
+     * Contrôle + retenue du créneau dans le planning (409 en cas de chevauchement), sous le
+     * verrou du membre seulement le temps de ces deux opérations en mémoire (planning chargé
+     * par {@link #preload}). Un contrôle concurrent pour le même membre voit le créneau retenu.
+     */
+    public void hold(Long memberId, TimeSlot slot, long holdId) {
+        withMemberLock(memberId, () -> {
+            MemberSchedule schedule = schedule(memberId);
+            checkFree(schedule, slot);
+            schedule.add(holdId, slot);
+            return null;
+        });
+    }
+
+    // réservation insérée : le créneau retenu passe sous l'id définitif
+    public void confirmHold(Long memberId, long holdId, Long bookingId, TimeSlot slot) {
+        withMemberLock(memberId, () -> {
+            MemberSchedule schedule = schedules.getIfPresent(memberId);
+            if (schedule != null) {
+                schedule.remove(holdId);
+                if (slot != null) {
+                    schedule.add(bookingId, slot);
+                }
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Charge en une fois les plannings et horaires absents du cache (une requête
+     * findByMemberIdIn, un appel groupé à activity-service), avant une série de
+     * {@link #hold}.
+     */
+    public void preload(Collection<Long> memberIds, Collection<Long> activityIds) {
+        Set<Long> missing = new HashSet<>();
+        for (Long activityId : activityIds) {
+            if (activitySlots.getIfPresent(activityId) == null) {
+                missing.add(activityId);
+            }
+        }
+        cacheSlots(missing);
+        schedules.getAll(memberIds, this::loadSchedules);
+    }
+
+    private static void checkFree(MemberSchedule schedule, TimeSlot slot) {
+        Long conflicting = schedule.findOverlap(slot);
+        if (conflicting != null) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, conflicting < 0
+                    ? "Conflit d'horaire avec une réservation en cours pour ce membre"
+                    : "Conflit d'horaire avec la réservation " + conflicting);
+        }
+    }
+
+    // annulation / suppression (ou créneau retenu abandonné) : le créneau redevient libre
+    public void remove(Long memberId, Long bookingId) {
+        withMemberLock(memberId, () -> {
+            MemberSchedule schedule = schedules.getIfPresent(memberId);
+            if (schedule != null) {
+                schedule.remove(bookingId);
+            }
+            return null;
+        });
+    }
+
+    // horaire modifié côté activity-service : relu au prochain contrôle
+    // (les plannings déjà chargés gardent l'ancien créneau jusqu'à expiration)
+    public void evictActivity(Long activityId) {
+        activitySlots.invalidate(activityId);
+    }
+
+    private MemberSchedule schedule(Long memberId) {
+        return schedules.get(memberId, id -> loadSchedules(Set.of(id)).get(id));
+    }
+
+    // repli base : réservations actives des membres + horaires des activités (un seul appel groupé)
+    private Map<Long, MemberSchedule> loadSchedules(Iterable<? extends Long> keys) {
+        Set<Long> memberIds = new HashSet<>();
+        keys.forEach(memberIds::add);
+        List<Booking> bookings = memberIds.size() == 1
+                ? bookingRepository.findByMemberId(memberIds.iterator().next())
+                : bookingRepository.findByMemberIdIn(memberIds);
+
+        Set<Long> missing = new HashSet<>();
+        for (Booking booking : bookings) {
+            if (booking.getStatus() != BookingStatus.CANCELLED
+                    && activitySlots.getIfPresent(booking.getActivityId()) == null) {
+                missing.add(booking.getActivityId());
+            }
+        }
+        cacheSlots(missing);
+
+        Map<Long, MemberSchedule> loaded = new HashMap<>();
+        for (Long memberId : memberIds) {
+            loaded.put(memberId, new MemberSchedule());
+        }
+        LocalDateTime now = LocalDateTime.now();
+        for (Booking booking : bookings) {
+            if (booking.getStatus() == BookingStatus.CANCELLED) {
+                continue;
+            }
+            TimeSlot slot = activitySlots.getIfPresent(booking.getActivityId());
+            // créneaux passés : ne peuvent plus entrer en conflit
+            if (slot != null && slot.end.isAfter(now)) {
+                loaded.get(booking.getMemberId()).add(booking.getId(), slot);
+            }
+        }
+        return loaded;
+    }
+
+    private void cacheSlots(Set<Long> activityIds) {
+        if (!activityIds.isEmpty()) {
+            for (ActivitySummaryDTO activity : activityClient.getActivities(activityIds)) {
+                cacheSlot(activity);
+            }
+        }
+    }
+
+    // horaire de l'activité (cache, sinon activity-service) ; null s'il est inconnu
+    public TimeSlot activitySlot(Long activityId) {
+        TimeSlot slot = activitySlots.getIfPresent(activityId);
+        return slot != null ? slot : cacheSlot(activityClient.getActivity(activityId));
+    }
+
+    private TimeSlot cacheSlot(ActivitySummaryDTO activity) {
+        if (activity == null || activity.getStartTime() == null || activity.getEndTime() == null) {
+            return null;
+        }
+        TimeSlot slot = new TimeSlot(activity.getStartTime(), activity.getEndTime());
+        activitySlots.put(activity.getId(), slot);
+        return slot;
+    }
+
+    public static final class TimeSlot {
+
+        final LocalDateTime start;
+        final LocalDateTime end;
+
+        TimeSlot(LocalDateTime start, LocalDateTime end) {
+            this.start = start;
+            this.end = end;
+        }
+
+        boolean overlaps(TimeSlot other) {
+            return start.isBefore(other.end) && other.start.isBefore(end);
+        }
+    }
+
+    private static final class SlotKey {
+
+        final LocalDateTime start;
+        final long bookingId;
+
+        SlotKey(LocalDateTime start, long bookingId) {
+            this.start = start;
+            this.bookingId = bookingId;
+        }
+    }
+
+    // lu et modifié uniquement sous le verrou du membre
+    private static final class MemberSchedule {
+
+        private static final Comparator<SlotKey> ORDER = Comparator
+                .comparing((SlotKey k) -> k.start)
+                .thenComparingLong(k -> k.bookingId);
+
+        private final TreeMap<SlotKey, TimeSlot> byStart = new TreeMap<>(ORDER);
+        private final Map<Long, SlotKey> keys = new HashMap<>();
+        // plus long créneau du planning : borne basse du parcours de findOverlap
+        private Duration longest = Duration.ZERO;
+
+        void add(Long bookingId, TimeSlot slot) {
+            SlotKey key = new SlotKey(slot.start, bookingId);
+            byStart.put(key, slot);
+            keys.put(bookingId, key);
+            Duration duration = Duration.between(slot.start, slot.end);
+            if (duration.compareTo(longest) > 0) {
+                longest = duration;
+            }
+        }
+
+        void remove(Long bookingId) {
+            SlotKey key = keys.remove(bookingId);
+            if (key != null) {
+                byStart.remove(key);
+            }
+        }
+
+        // un créneau plus ancien et plus long que son voisin peut encore chevaucher :
+        // parcours de tous les débuts dans [start - longest, end), pas seulement des voisins
+        Long findOverlap(TimeSlot slot) {
+            SlotKey lower = new SlotKey(slot.start.minus(longest), Long.MIN_VALUE);
+            SlotKey upper = new SlotKey(slot.end, Long.MIN_VALUE);
+            for (Map.Entry<SlotKey, TimeSlot> entry : byStart.subMap(lower, true, upper, false).entrySet()) {
+                if (entry.getValue().overlaps(slot)) {
+                    return entry.getKey().bookingId;
+                }
+            }
+            return null;
+        }
+    }
+}
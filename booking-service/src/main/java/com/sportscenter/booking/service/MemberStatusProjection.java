@@ -0,0 +1,279 @@
+package com.sportscenter.booking.service;
+
+import com.sportscenter.booking.client.MemberClient;
+import com.sportscenter.booking.dto.MemberStatusDTO;
+import com.sportscenter.booking.dto.MemberSummaryDTO;
+import com.sportscenter.common.event.DomainEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Statut d'abonnement des membres, tenu localement : le contrôle d'éligibilité d'une
+ * réservation est une lecture en mémoire, sans appel à member-service.
+ *
+ * - un octet par membre, indexé par id (ids auto-incrémentés, donc denses) ; au-delà de
+ *   max-dense-id, repli sur une map ;
+ * - chargé au démarrage depuis l'instantané GET /api/members/statuses (pages par curseur),
+ *   puis tenu à jour par les événements MemberSubscriptionChanged ;
+ * - resynchronisé périodiquement (événements perdus par le transport http) ;
+ * - membre absent (créé depuis, ou chargement pas encore fait) : un appel à member-service,
+ *   puis mis en cache. Si member-service ne répond pas, la réservation passe (fail-open).
+ */
+@Service
+public class MemberStatusProjection {
+
+    private static final Logger log = LoggerFactory.getLogger(MemberStatusProjection.class);
+
+    private static final VarHandle CODES = MethodHandles.arrayElementVarHandle(byte[].class);
+
+    private static final byte UNKNOWN = 0;
+    private static final byte ACTIVE = 1;
+    private static final byte INACTIVE = 2;
+    private static final byte SUSPENDED = 3;
+    // membre inconnu de member-service : mis en cache pour ne pas le redemander
+    private static final byte MISSING = 4;
+
+    private static final String[] NAMES = {null, "ACTIVE", "INACTIVE", "SUSPENDED", null};
+
+    private final MemberClient memberClient;
+    private final Executor lookupExecutor;
+    private final boolean enabled;
+    private final boolean failOpen;
+    private final int pageSize;
+    private final int maxDenseId;
+
+    // écritures sérialisées (agrandissement du tableau), lectures sans verrou
+    private volatile byte[] codes = new byte[1024];
+    private final Map<Long, Byte> sparse = new ConcurrentHashMap<>();
+
+    // événements reçus pendant une resynchronisation, réappliqués à la fin (l'instantané peut être plus ancien)
+    private volatile Map<Long, Byte> changedDuringSync;
+    private final ReentrantLock resyncLock = new ReentrantLock();
+
+    public MemberStatusProjection(MemberClient memberClient,
+                                  @Qualifier("lookupExecutor") Executor lookupExecutor,
+                                  @Value("${booking.member-status.enabled:true}") boolean enabled,
+                                  @Value("${booking.member-status.fail-open:true}") boolean failOpen,
+                                  @Value("${booking.member-status.page-size:5000}") int pageSize,
+                                  @Value("${booking.member-status.max-dense-id:16777216}") int maxDenseId) {
+        this.memberClient = memberClient;
+        this.lookupExecutor = lookupExecutor;
+        this.enabled = enabled;
+        this.failOpen = failOpen;
+        this.pageSize = pageSize;
+        this.maxDenseId = maxDenseId;
+    }
+
+    /**
+     * Refuse la réservation si l'abonnement du membre n'est pas ACTIVE (409),
+     * ou si le membre n'existe pas (404).
+     */
+    public void checkEligible(Long memberId) {
+        String reason = ineligibility(memberId);
+        if (reason != null) {
+            HttpStatus status = get(memberId) == MISSING ? HttpStatus.NOT_FOUND : HttpStatus.CONFLICT;
+            throw new ResponseStatusException(status, reason);
+        }
+    }
+
+    // motif du refus, ou null si le membre peut réserver
+    public String ineligibility(Long memberId) {
+        if (!enabled) {
+            return null;
+        }
+        byte code = get(memberId);
+        if (code == UNKNOWN) {
+            load(List.of(memberId));
+            code = get(memberId);
+        }
+        switch (code) {
+            case UNKNOWN:
+            case ACTIVE:
+                return null;
+            case MISSING:
+                return "Membre introuvable : " + memberId;
+            default:
+                return "Abonnement du membre " + memberId + " non actif (" + NAMES[code] + ")";
+        }
+    }
+
+    // lot de réservations : membres absents demandés en un appel groupé
+    public void preload(Collection<Long> memberIds) {
+        if (!enabled) {
+            return;
+        }
+        List<Long> missing = new ArrayList<>();
+        for (Long memberId : memberIds) {
+            if (get(memberId) == UNKNOWN) {
+                missing.add(memberId);
+            }
+        }
+        if (!missing.isEmpty()) {
+            load(missing);
+        }
+    }
+
+    @EventListener(condition = "#event.type == T(com.sportscenter.common.event.DomainEvent).MEMBER_SUBSCRIPTION_CHANGED")
+    public void onSubscriptionChanged(DomainEvent event) {
+        Long memberId = event.getLong("memberId");
+        if (memberId == null) {
+            memberId = event.getAggregateId();
+        }
+        byte code = codeOf(event.getString("status"));
+        set(memberId, code);
+        Map<Long, Byte> changed = changedDuringSync;
+        if (changed != null) {
+            changed.put(memberId, code);
+        }
+    }
+
+    // chargement initial hors du thread de démarrage
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (enabled) {
+            lookupExecutor.execute(this::resync);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${booking.member-status.resync-interval:3600000}",
+            initialDelayString = "${booking.member-status.resync-interval:3600000}")
+    public void scheduledResync() {
+        if (enabled) {
+            resync();
+        }
+    }
+
+    // une seule resynchronisation à la fois ; les écritures (set) restent possibles pendant ce temps
+    void resync() {
+        if (!resyncLock.tryLock()) {
+            return;
+        }
+        changedDuringSync = new ConcurrentHashMap<>();
+        long start = System.nanoTime();
+        int count = 0;
+        try {
+            long after = 0;
+            List<MemberStatusDTO> page;
+            do {
+                page = memberClient.getStatuses(after, pageSize);
+                for (MemberStatusDTO member : page) {
+                    set(member.getId(), codeOf(member.getStatus()));
+                    after = member.getId();
+                }
+                count += page.size();
+            } while (page.size() == pageSize);
+
+            changedDuringSync.forEach(this::set);
+            log.info("Statuts d'abonnement chargés : {} membres en {} ms",
+                    count, (System.nanoTime() - start) / 1_000_000);
+        } catch (RestClientException e) {
+            log.warn("Chargement des statuts d'abonnement interrompu après {} membres, "
+                    + "repli sur member-service pour les membres absents", count, e);
+        } finally {
+            changedDuringSync = null;
+            resyncLock.unlock();
+        }
+    }
+
+    private void load(List<Long> memberIds) {
+        List<MemberSummaryDTO> members;
+        try {
+            members = memberClient.getMembers(memberIds);
+        } catch (RestClientException e) {
+            if (failOpen) {
+                log.warn("member-service indisponible, éligibilité non vérifiée pour {} membres", memberIds.size());
+                return;
+            }
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE,
+                    "Statut d'abonnement indisponible");
+        }
+        // un événement reçu pendant l'appel est plus récent que la réponse : il n'est pas écrasé
+        Set<Long> returned = new HashSet<>();
+        for (MemberSummaryDTO member : members) {
+            returned.add(member.getId());
+            setIfUnknown(member.getId(), codeOf(member.getSubscriptionStatus()));
+        }
+        for (Long memberId : memberIds) {
+            if (!returned.contains(memberId)) {
+                setIfUnknown(memberId, MISSING);
+            }
+        }
+    }
+
+    private byte get(Long memberId) {
+        if (memberId == null) {
+            return UNKNOWN;
+        }
+        byte[] current = codes;
+        if (memberId >= 0 && memberId < current.length) {
+            return (byte) CODES.getAcquire(current, (int) (long) memberId);
+        }
+        Byte code = sparse.get(memberId);
+        return code != null ? code : UNKNOWN;
+    }
+
+    private synchronized void set(Long memberId, byte code) {
+        if (memberId == null) {
+            return;
+        }
+        if (memberId < 0 || memberId >= maxDenseId) {
+            sparse.put(memberId, code);
+            return;
+        }
+        int index = (int) (long) memberId;
+        byte[] current = codes;
+        if (index >= current.length) {
+            // doublement : coût amorti, lecteurs basculés d'un coup sur le nouveau tableau
+            int length = current.length;
+            while (length <= index) {
+                length = (int) Math.min((long) length * 2, maxDenseId);
+            }
+            current = Arrays.copyOf(current, length);
+            codes = current;
+        }
+        CODES.setRelease(current, index, code);
+    }
+
+    // contrôle et écriture sous le même verrou que set
+    private synchronized void setIfUnknown(Long memberId, byte code) {
+        if (get(memberId) == UNKNOWN) {
+            set(memberId, code);
+        }
+    }
+
+    private static byte codeOf(String status) {
+        if (status == null) {
+            return INACTIVE;
+        }
+        switch (status) {
+            case "ACTIVE":
+                return ACTIVE;
+            case "SUSPENDED":
+                return SUSPENDED;
+            default:
+                return INACTIVE;
+        }
+    }
+}
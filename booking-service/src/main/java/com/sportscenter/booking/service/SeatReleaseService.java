@@ -0,0 +1,117 @@
+package com.sportscenter.booking.service;
+
+import com.sportscenter.booking.entity.PendingSeatRelease;
+import com.sportscenter.booking.repository.PendingSeatReleaseRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Places à rendre à activity-service sans jamais les perdre.
+ *
+ * La dette est écrite dans la transaction qui libère les places (table pending_seat_releases),
+ * rendue aussitôt après le commit, et retentée en tâche de fond tant qu'activity-service
+ * ne répond pas. Chaque ligne est réservée (FOR UPDATE SKIP LOCKED) puis supprimée dans la
+ * transaction de l'appel : rendue au moins une fois, par une seule instance à la fois.
+ */
+@Service
+public class SeatReleaseService {
+
+    private static final Logger log = LoggerFactory.getLogger(SeatReleaseService.class);
+
+    private final PendingSeatReleaseRepository pendingSeatReleaseRepository;
+    private final SeatReservationService seatReservationService;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+
+    public SeatReleaseService(PendingSeatReleaseRepository pendingSeatReleaseRepository,
+                              SeatReservationService seatReservationService,
+                              TransactionTemplate transactionTemplate,
+                              @Value("${booking.seats.release-batch-size:100}") int batchSize) {
+        this.pendingSeatReleaseRepository = pendingSeatReleaseRepository;
+        this.seatReservationService = seatReservationService;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * À appeler dans la transaction qui libère les places : la dette est validée ou annulée avec elle.
+     * Puis {@link #releaseRecorded} après le commit.
+     */
+    public PendingSeatRelease record(Long activityId, int seats) {
+        PendingSeatRelease pending = new PendingSeatRelease();
+        pending.setActivityId(activityId);
+        pending.setSeats(seats);
+        pending.setCreatedAt(LocalDateTime.now());
+        return pendingSeatReleaseRepository.save(pending);
+    }
+
+    // premier essai juste après le commit ; en cas d'échec la ligne reste pour retryPending
+    public void releaseRecorded(PendingSeatRelease recorded) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                for (PendingSeatRelease pending : pendingSeatReleaseRepository.claimById(recorded.getId())) {
+                    releaseAndDelete(pending);
+                }
+            });
+        } catch (RuntimeException e) {
+            log.warn("Places non rendues à activity-service pour l'activité {} ({}), nouvel essai en tâche de fond",
+                    recorded.getActivityId(), recorded.getSeats(), e);
+        }
+    }
+
+    /**
+     * Hors transaction : rend les places tout de suite, ou les enregistre pour un nouvel
+     * essai si activity-service ne répond pas.
+     */
+    public void release(Long activityId, int seats) {
+        try {
+            seatReservationService.release(activityId, seats);
+        } catch (RuntimeException e) {
+            transactionTemplate.executeWithoutResult(status -> record(activityId, seats));
+            log.warn("Places non rendues à activity-service pour l'activité {} ({}), nouvel essai en tâche de fond",
+                    activityId, seats, e);
+        }
+    }
+
+    // une ligne par transaction : un échec en cours de tour n'annule pas les places déjà rendues
+    @Scheduled(fixedDelayString = "${booking.seats.release-retry-interval:30000}")
+    public void retryPending() {
+        int released = 0;
+        try {
+            while (released < batchSize && releaseOldest()) {
+                released++;
+            }
+        } catch (RuntimeException e) {
+            // activity-service toujours indisponible : la ligne repart au tour suivant
+            log.warn("Places en attente non rendues à activity-service, nouvel essai au prochain tour", e);
+        }
+        if (released > 0) {
+            log.info("{} libération(s) de places en attente rendue(s) à activity-service", released);
+        }
+    }
+
+    private boolean releaseOldest() {
+        Boolean released = transactionTemplate.execute(status -> {
+            List<PendingSeatRelease> oldest = pendingSeatReleaseRepository.claimPending(PageRequest.of(0, 1));
+            if (oldest.isEmpty()) {
+                return false;
+            }
+            releaseAndDelete(oldest.get(0));
+            return true;
+        });
+        return Boolean.TRUE.equals(released);
+    }
+
+    private void releaseAndDelete(PendingSeatRelease pending) {
+        seatReservationService.release(pending.getActivityId(), pending.getSeats());
+        pendingSeatReleaseRepository.delete(pending);
+    }
+}
@@ -0,0 +1,204 @@
+package com.sportscenter.booking.service;
+
+import com.sportscenter.booking.client.ActivityClient;
+import com.sportscenter.booking.dto.ActivitySummaryDTO;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.HttpStatusCodeException;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Réservation de places par activité.
+ *
+ * Un compteur local sans verrou (CAS) filtre les demandes : quand l'activité
+ * est complète, le refus est immédiat, sans appel réseau ni accès base.
+ * Les demandes qui passent le filtre sont confirmées par activity-service avec
+ * un UPDATE conditionnel (current_participants < max_capacity), qui reste la
+ * référence lorsque plusieurs instances de booking-service tournent.
+ *
+ * Appel sans réponse (timeout, coupure) : l'UPDATE a pu être validé côté activity-service,
+ * la place est donc rendue par SeatReleaseService (enregistrée pour un nouvel essai si besoin).
+ */
+@Service
+public class SeatReservationService {
+
+    private final ActivityClient activityClient;
+    // fournisseur : SeatReleaseService dépend lui-même de ce service
+    private final ObjectProvider<SeatReleaseService> seatReleaseService;
+    private final long refreshIntervalNanos;
+    private final ConcurrentMap<Long, SeatCounter> counters = new ConcurrentHashMap<>();
+    // chargements en cours : une seule lecture d'activity-service par activité à la fois
+    private final ConcurrentMap<Long, CompletableFuture<SeatCounter>> loading = new ConcurrentHashMap<>();
+
+    public SeatReservationService(ActivityClient activityClient,
+                                  ObjectProvider<SeatReleaseService> seatReleaseService,
+                                  @Value("${booking.seats.refresh-interval:30s}") Duration refreshInterval) {
+        this.activityClient = activityClient;
+        this.seatReleaseService = seatReleaseService;
+        this.refreshIntervalNanos = refreshInterval.toNanos();
+    }
+
+    public boolean tryReserve(Long activityId) {
+        SeatCounter counter = counterFor(activityId);
+        if (!counter.tryAcquire(1)) {
+            return false;
+        }
+
+        boolean reserved = reserveRemote(activityId, counter, 1);
+        if (!reserved) {
+            // compteur local en avance sur la base : il sera rechargé au prochain appel
+            counters.remove(activityId, counter);
+        }
+        return reserved;
+    }
+
+    /**
+     * Lot de réservations : prend jusqu'à {@code requested} places en un seul appel
+     * à activity-service et renvoie le nombre obtenu (le reste part en liste d'attente).
+     */
+    public int tryReserveUpTo(Long activityId, int requested) {
+        // deux essais : le second part d'un compteur rechargé si le premier était en avance sur la base
+        for (int attempt = 0; attempt < 2; attempt++) {
+            SeatCounter counter = counterFor(activityId);
+            int seats = counter.acquireUpTo(requested);
+            if (seats == 0) {
+                return 0;
+            }
+
+            if (reserveRemote(activityId, counter, seats)) {
+                return seats;
+            }
+            counters.remove(activityId, counter);
+        }
+        return 0;
+    }
+
+    private boolean reserveRemote(Long activityId, SeatCounter counter, int seats) {
+        try {
+            return activityClient.reserveSeats(activityId, seats);
+        } catch (HttpStatusCodeException e) {
+            // réponse en erreur : l'UPDATE a été annulé avec la transaction d'activity-service
+            counter.release(seats);
+            throw e;
+        } catch (RuntimeException e) {
+            // issue inconnue : places rendues (compteur local compris) ou dette enregistrée
+            try {
+                seatReleaseService.getObject().release(activityId, seats);
+            } catch (RuntimeException failed) {
+                e.addSuppressed(failed);
+            }
+            throw e;
+        }
+    }
+
+    public void release(Long activityId) {
+        release(activityId, 1);
+    }
+
+    public void release(Long activityId, int seats) {
+        activityClient.releaseSeats(activityId, seats);
+        SeatCounter counter = counters.get(activityId);
+        if (counter != null) {
+            counter.release(seats);
+        }
+    }
+
+    // capacité modifiée : compteur rechargé au prochain appel
+    public void evict(Long activityId) {
+        counters.remove(activityId);
+    }
+
+    private SeatCounter counterFor(Long activityId) {
+        SeatCounter counter = counters.get(activityId);
+        if (counter != null && !counter.isExpired()) {
+            return counter;
+        }
+        // un seul chargement par activité même si des milliers de requêtes arrivent en même temps ;
+        // l'appel http est fait hors de la map (pas sous le verrou d'un compute)
+        CompletableFuture<SeatCounter> load = new CompletableFuture<>();
+        CompletableFuture<SeatCounter> inFlight = loading.putIfAbsent(activityId, load);
+        if (inFlight != null) {
+            return await(inFlight);
+        }
+        try {
+            SeatCounter loaded = load(activityId);
+            counters.put(activityId, loaded);
+            load.complete(loaded);
+            return loaded;
+        } catch (RuntimeException e) {
+            load.completeExceptionally(e);
+            throw e;
+        } finally {
+            loading.remove(activityId, load);
+        }
+    }
+
+    // même exception que le chargement (RestClientException...) pour les requêtes qui l'attendaient
+    private static SeatCounter await(CompletableFuture<SeatCounter> load) {
+        try {
+            return load.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    private SeatCounter load(Long activityId) {
+        ActivitySummaryDTO activity = activityClient.getActivity(activityId);
+        int taken = activity.getCurrentParticipants() != null ? activity.getCurrentParticipants() : 0;
+        return new SeatCounter(Math.max(0, activity.getMaxCapacity() - taken), System.nanoTime() + refreshIntervalNanos);
+    }
+
+    private static final class SeatCounter {
+
+        private final AtomicInteger remaining;
+        private final long expiresAt;
+
+        SeatCounter(int remaining, long expiresAt) {
+            this.remaining = new AtomicInteger(remaining);
+            this.expiresAt = expiresAt;
+        }
+
+        boolean tryAcquire(int seats) {
+            for (;;) {
+                int current = remaining.get();
+                if (current < seats) {
+                    return false;
+                }
+                if (remaining.compareAndSet(current, current - seats)) {
+                    return true;
+                }
+            }
+        }
+
+        int acquireUpTo(int seats) {
+            for (;;) {
+                int current = remaining.get();
+                int taken = Math.min(current, seats);
+                if (taken <= 0) {
+                    return 0;
+                }
+                if (remaining.compareAndSet(current, current - taken)) {
+                    return taken;
+                }
+            }
+        }
+
+        void release(int seats) {
+            remaining.addAndGet(seats);
+        }
+
+        boolean isExpired() {
+            return System.nanoTime() - expiresAt > 0;
+        }
+    }
+}
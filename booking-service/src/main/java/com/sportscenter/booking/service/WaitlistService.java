@@ -0,0 +1,123 @@
+package com.sportscenter.booking.service;
+
+import com.sportscenter.booking.entity.Booking;
+import com.sportscenter.booking.entity.BookingStatus;
+import com.sportscenter.booking.repository.BookingRepository;
+import com.sportscenter.common.event.OutboxService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Liste d'attente FIFO par activité.
+ *
+ * La table bookings (statut PENDING) fait foi ; la file en mémoire ne contient
+ * que les identifiants et est rechargée depuis la base au premier accès. Une
+ * réservation annulée pendant qu'elle attend reste dans la file et est ignorée
+ * au moment de la promotion.
+ */
+@Service
+public class WaitlistService {
+
+    private static final Logger log = LoggerFactory.getLogger(WaitlistService.class);
+
+    private final BookingRepository bookingRepository;
+    private final SeatReservationService seatReservationService;
+    private final SeatReleaseService seatReleaseService;
+    private final OutboxService outboxService;
+    private final TransactionTemplate transactionTemplate;
+    private final ConcurrentMap<Long, Queue<Long>> queues = new ConcurrentHashMap<>();
+
+    public WaitlistService(BookingRepository bookingRepository,
+                           SeatReservationService seatReservationService,
+                           SeatReleaseService seatReleaseService,
+                           OutboxService outboxService,
+                           TransactionTemplate transactionTemplate) {
+        this.bookingRepository = bookingRepository;
+        this.seatReservationService = seatReservationService;
+        this.seatReleaseService = seatReleaseService;
+        this.outboxService = outboxService;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    // à appeler avant d'insérer la réservation PENDING, pour ne pas la charger deux fois
+    public void prepare(Long activityId) {
+        queueFor(activityId);
+    }
+
+    public void enqueue(Booking booking) {
+        queueFor(booking.getActivityId()).offer(booking.getId());
+    }
+
+    // activité annulée en bloc : les réservations en attente le sont aussi
+    public void clear(Long activityId) {
+        queues.remove(activityId);
+    }
+
+    /**
+     * Une place vient d'être libérée : elle est donnée à la première réservation
+     * en attente, ou rendue à activity-service si la file est vide.
+     *
+     * Une réservation peut entrer dans la file pendant que la place est rendue : la file
+     * est relue ensuite et la place reprise pour elle. En cas d'erreur, la place tenue
+     * passe par SeatReleaseService (jamais perdue) et la file est rechargée depuis la base.
+     */
+    @Async("waitlistExecutor")
+    public void handOverSeat(Long activityId) {
+        boolean seatHeld = true;
+        try {
+            while (seatHeld) {
+                if (promoteNext(activityId)) {
+                    return;
+                }
+                seatHeld = false;
+                seatReleaseService.release(activityId, 1);
+                seatHeld = !queueFor(activityId).isEmpty() && seatReservationService.tryReserve(activityId);
+            }
+        } catch (RuntimeException e) {
+            log.error("Promotion impossible pour l'activité {}", activityId, e);
+            if (seatHeld) {
+                // la réservation retirée de la file est toujours PENDING en base
+                queues.remove(activityId);
+                seatReleaseService.release(activityId, 1);
+            }
+        }
+    }
+
+    private boolean promoteNext(Long activityId) {
+        Queue<Long> queue = queueFor(activityId);
+        Long bookingId;
+        while ((bookingId = queue.poll()) != null) {
+            if (promote(bookingId, activityId)) {
+                log.info("Réservation {} promue depuis la liste d'attente de l'activité {}", bookingId, activityId);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // confirmation + événement BookingConfirmed dans la même transaction
+    private boolean promote(Long bookingId, Long activityId) {
+        Boolean promoted = transactionTemplate.execute(status -> {
+            if (bookingRepository.confirmIfPending(bookingId) != 1) {
+                return false;
+            }
+            outboxService.record(BookingEvents.confirmed(bookingId, activityId));
+            return true;
+        });
+        return Boolean.TRUE.equals(promoted);
+    }
+
+    private Queue<Long> queueFor(Long activityId) {
+        return queues.computeIfAbsent(activityId, id ->
+                new ConcurrentLinkedQueue<>(
+                        bookingRepository.findIdsByActivityIdAndStatus(id, BookingStatus.PENDING)));
+    }
+}
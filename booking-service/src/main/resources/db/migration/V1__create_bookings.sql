@@ -0,0 +1,12 @@
+-- Schéma initial, identique à celui généré jusqu'ici par ddl-auto: update
+CREATE TABLE IF NOT EXISTS bookings (
+    id                BIGINT       NOT NULL AUTO_INCREMENT,
+    member_id         BIGINT       NOT NULL,
+    activity_id       BIGINT       NOT NULL,
+    status            VARCHAR(255) NOT NULL,
+    booking_date      DATETIME(6)  NOT NULL,
+    cancellation_date DATETIME(6),
+    created_at        DATETIME(6),
+    updated_at        DATETIME(6),
+    PRIMARY KEY (id)
+);
@@ -0,0 +1,8 @@
+-- /api/bookings/member/{id} : findByMemberId (+ tri par date)
+CREATE INDEX idx_bookings_member_date ON bookings (member_id, booking_date);
+
+-- /api/bookings/activity/{id} et liste d'attente (activity_id + status PENDING)
+CREATE INDEX idx_bookings_activity_status ON bookings (activity_id, status);
+
+-- statistiques par statut et par jour (/api/bookings/stats)
+CREATE INDEX idx_bookings_status_date ON bookings (status, booking_date);
@@ -0,0 +1,16 @@
+-- Outbox : événements écrits dans la transaction de la modification, publiés par OutboxRelay
+CREATE TABLE outbox_events (
+    id             BIGINT       NOT NULL AUTO_INCREMENT,
+    event_id       VARCHAR(36)  NOT NULL,
+    event_type     VARCHAR(100) NOT NULL,
+    aggregate_type VARCHAR(100) NOT NULL,
+    aggregate_id   BIGINT,
+    payload        TEXT         NOT NULL,
+    created_at     DATETIME(6)  NOT NULL,
+    published_at   DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_outbox_event_id UNIQUE (event_id)
+);
+
+-- lignes en attente (published_at IS NULL) lues dans l'ordre d'écriture
+CREATE INDEX idx_outbox_published ON outbox_events (published_at, id);
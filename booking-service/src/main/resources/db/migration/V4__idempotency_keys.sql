@@ -0,0 +1,13 @@
+-- Clés d'idempotence partagées entre instances (idempotency.store: jdbc)
+CREATE TABLE idempotency_keys (
+    idem_key    VARCHAR(255) NOT NULL,
+    fingerprint VARCHAR(64)  NOT NULL,
+    status      INT          NOT NULL,
+    body        TEXT,
+    created_at  DATETIME(6)  NOT NULL,
+    expires_at  DATETIME(6)  NOT NULL,
+    PRIMARY KEY (idem_key)
+);
+
+-- purge des clés expirées
+CREATE INDEX idx_idempotency_expires ON idempotency_keys (expires_at);
@@ -0,0 +1,9 @@
+-- Places à rendre à activity-service, écrites dans la transaction qui les libère :
+-- supprimées une fois rendues, retentées par SeatReleaseService tant qu'elles restent là
+CREATE TABLE pending_seat_releases (
+    id          BIGINT      NOT NULL AUTO_INCREMENT,
+    activity_id BIGINT      NOT NULL,
+    seats       INT         NOT NULL,
+    created_at  DATETIME(6) NOT NULL,
+    PRIMARY KEY (id)
+);
@@ -0,0 +1,98 @@
+package com.sportscenter.booking.service;
+
+import com.sportscenter.booking.entity.Booking;
+import com.sportscenter.booking.entity.BookingStatus;
+import com.sportscenter.booking.repository.BookingRepository;
+import com.sportscenter.common.event.OutboxService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class WaitlistServiceTest {
+
+    private static final Long ACTIVITY_ID = 7L;
+
+    private BookingRepository bookingRepository;
+    private SeatReservationService seatReservationService;
+    private SeatReleaseService seatReleaseService;
+    private OutboxService outboxService;
+    private WaitlistService waitlistService;
+
+    @BeforeEach
+    void setUp() {
+        bookingRepository = mock(BookingRepository.class);
+        seatReservationService = mock(SeatReservationService.class);
+        seatReleaseService = mock(SeatReleaseService.class);
+        outboxService = mock(OutboxService.class);
+        waitlistService = new WaitlistService(bookingRepository, seatReservationService, seatReleaseService,
+                outboxService, new TransactionTemplate(mock(PlatformTransactionManager.class)));
+    }
+
+    @Test
+    void seatGoesThroughReleaseServiceWhenPromotionFails() {
+        waiting(1L);
+        when(bookingRepository.confirmIfPending(1L)).thenThrow(new DataAccessResourceFailureException("base indisponible"));
+
+        waitlistService.handOverSeat(ACTIVITY_ID);
+
+        verify(seatReleaseService).release(ACTIVITY_ID, 1);
+        verify(seatReservationService, never()).release(anyLong());
+    }
+
+    @Test
+    void failedPromotionReloadsQueueFromDatabase() {
+        waiting(1L);
+        when(bookingRepository.confirmIfPending(1L))
+                .thenThrow(new DataAccessResourceFailureException("base indisponible"))
+                .thenReturn(1);
+
+        waitlistService.handOverSeat(ACTIVITY_ID);
+        waitlistService.handOverSeat(ACTIVITY_ID);
+
+        // la réservation toujours PENDING en base est promue au tour suivant
+        verify(bookingRepository, times(2)).confirmIfPending(1L);
+        verify(seatReleaseService, times(1)).release(ACTIVITY_ID, 1);
+    }
+
+    @Test
+    void bookingQueuedWhileSeatIsReleasedTakesItBack() {
+        waiting();
+        doAnswer(invocation -> {
+            waitlistService.enqueue(pending(2L));
+            return null;
+        }).when(seatReleaseService).release(ACTIVITY_ID, 1);
+        when(seatReservationService.tryReserve(ACTIVITY_ID)).thenReturn(true);
+        when(bookingRepository.confirmIfPending(2L)).thenReturn(1);
+
+        waitlistService.handOverSeat(ACTIVITY_ID);
+
+        verify(bookingRepository).confirmIfPending(2L);
+        verify(seatReleaseService, times(1)).release(ACTIVITY_ID, 1);
+    }
+
+    private void waiting(Long... bookingIds) {
+        List<Long> ids = new ArrayList<>(List.of(bookingIds));
+        when(bookingRepository.findIdsByActivityIdAndStatus(ACTIVITY_ID, BookingStatus.PENDING)).thenReturn(ids);
+    }
+
+    private static Booking pending(Long id) {
+        Booking booking = new Booking();
+        booking.setId(id);
+        booking.setActivityId(ACTIVITY_ID);
+        booking.setStatus(BookingStatus.PENDING);
+        return booking;
+    }
+}
@@ -10,12 +10,7 @@ import MainLayout from "@/components/layout/MainLayout";
 import StatCard from "@/components/ui/StatCard";
 import LoadingSpinner from "@/components/ui/LoadingSpinner";
 import { useApi } from "@/hooks/useApi";
-import {
-  bookingService,
-  memberService,
-  activityService,
-  Booking,
-} from "@/services/api";
+import { dashboardService, Booking } from "@/services/api";
 import {
   AreaChart,
   Area,
@@ -45,36 +40,19 @@ const Dashboard = () => {
      DATA
   ========================= */
 
-  const { data: members, loading: membersLoading } = useApi(
-    memberService.getAll,
-    []
-  );
-
-  const { data: activities, loading: activitiesLoading } = useApi(
-    activityService.getAll,
-    []
-  );
-
-  const { data: bookings, loading: bookingsLoading } = useApi(
-    bookingService.getAll,
-    []
-  );
-
-  const isLoading = membersLoading || activitiesLoading || bookingsLoading;
+  // compteurs pré-agrégés par la gateway (/api/dashboard)
+  const { data: stats, loading: isLoading } = useApi(dashboardService.get, []);
 
   /* =========================
      STATS
   ========================= */
 
-  const totalMembers = members?.length || 0;
-  const activeMembers = members?.filter((m) => m.active).length || 0;
-  const totalActivities = activities?.length || 0;
-
-  const today = new Date().toISOString().split("T")[0];
-  const todayReservations =
-    bookings?.filter((b) => b.id && today).length || 0;
+  const totalMembers = stats?.members?.total || 0;
+  const activeMembers = stats?.members?.bySubscriptionStatus?.ACTIVE || 0;
+  const totalActivities = stats?.activities?.totalActivities || 0;
+  const totalReservations = stats?.bookings?.total || 0;
 
-  const recentReservations = bookings?.slice(0, 5) || [];
+  const recentReservations = stats?.bookings?.recent || [];
 
   /* =========================
      BADGES
@@ -133,7 +111,7 @@ const Dashboard = () => {
             />
             <StatCard
               title="Réservations"
-              value={bookings?.length || 0}
+              value={totalReservations}
               icon={Calendar}
               color="accent"
             />
@@ -9,7 +9,7 @@ import {
   bookingService,
   memberService,
   activityService,
-  Booking,
+  BookingExpanded,
   Member,
   Activity,
 } from "@/services/api";
@@ -19,6 +19,9 @@ type ReservationForm = {
   activityId: string;
 };
 
+// réservations affichées par page (noms résolus côté booking-service)
+const PAGE_SIZE = 200;
+
 const Reservations = () => {
   /* =========================
      DATA
@@ -29,17 +32,21 @@ const Reservations = () => {
     loading,
     error,
     refetch,
-  } = useApi<Booking[]>(bookingService.getAll, []);
+  } = useApi<BookingExpanded[]>(
+    () => bookingService.getExpanded({ limit: PAGE_SIZE }),
+    []
+  );
 
   // ✅ GARANTIT TOUJOURS UN TABLEAU
-  const bookings: Booking[] = Array.isArray(data) ? data : [];
+  const bookings: BookingExpanded[] = Array.isArray(data) ? data : [];
 
   const [members, setMembers] = useState<Member[]>([]);
   const [activities, setActivities] = useState<Activity[]>([]);
 
   const [isModalOpen, setIsModalOpen] = useState(false);
   const [isDeleteModalOpen, setIsDeleteModalOpen] = useState(false);
-  const [selectedBooking, setSelectedBooking] = useState<Booking | null>(null);
+  const [selectedBooking, setSelectedBooking] =
+    useState<BookingExpanded | null>(null);
 
   const [form, setForm] = useState<ReservationForm>({
     memberId: "",
@@ -48,12 +55,14 @@ const Reservations = () => {
 
   /* =========================
      LOAD MEMBERS & ACTIVITIES
+     (listes complètes seulement pour le formulaire de création)
   ========================= */
 
   useEffect(() => {
+    if (!isModalOpen || (members.length > 0 && activities.length > 0)) return;
     memberService.getAll().then((r) => setMembers(r.data)).catch(() => {});
     activityService.getAll().then((r) => setActivities(r.data)).catch(() => {});
-  }, []);
+  }, [isModalOpen]);
 
   /* =========================
      MUTATIONS
@@ -90,30 +99,25 @@ const Reservations = () => {
     {
       key: "member",
       header: "Membre",
-      render: (b: Booking) => {
-        const m = members.find((m) => m.id === b.memberId);
-        return m ? `${m.firstName} ${m.lastName}` : "—";
-      },
+      render: (b: BookingExpanded) =>
+        b.member ? `${b.member.firstName} ${b.member.lastName}` : "—",
     },
     {
       key: "activity",
       header: "Activité",
-      render: (b: Booking) => {
-        const a = activities.find((a) => a.id === b.activityId);
-        return a ? a.name : "—";
-      },
+      render: (b: BookingExpanded) => (b.activity ? b.activity.name : "—"),
     },
     {
       key: "status",
       header: "Statut",
-      render: (b: Booking) => (
+      render: (b: BookingExpanded) => (
         <span className="badge">{b.status}</span>
       ),
     },
     {
       key: "actions",
       header: "Actions",
-      render: (b: Booking) => (
+      render: (b: BookingExpanded) => (
         <div className="flex gap-2">
           {b.status !== "CANCELLED" && (
             <button onClick={() => cancelMutation.mutate(b.id)}>
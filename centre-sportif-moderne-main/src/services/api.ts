@@ -11,7 +11,7 @@ const PAYMENT_SERVICE =
   import.meta.env.VITE_PAYMENT_URL || "http://localhost:8084";
 
 /* ======================================================
-   AXIOS CLIENT (API GATEWAY - BASIC AUTH)
+   AXIOS CLIENT (API GATEWAY - JWT)
 ====================================================== */
 
 export const apiClient = axios.create({
@@ -20,9 +20,9 @@ export const apiClient = axios.create({
 });
 
 apiClient.interceptors.request.use((config) => {
-  const credentials = localStorage.getItem("auth_credentials");
-  if (credentials) {
-    config.headers.Authorization = `Basic ${credentials}`;
+  const token = localStorage.getItem("gateway_token");
+  if (token) {
+    config.headers.Authorization = `Bearer ${token}`;
   }
   return config;
 });
@@ -59,6 +59,9 @@ export interface Member {
   email: string;
   phone: string;
   active: boolean;
+  subscriptionStatus?: "ACTIVE" | "INACTIVE" | "SUSPENDED";
+  // passé automatiquement en INACTIVE après cette date
+  subscriptionEndDate?: string;
 }
 
 export interface Activity {
@@ -66,8 +69,11 @@ export interface Activity {
   name: string;
   description: string;
   coach: string;
+  room?: string;
   maxCapacity: number;
   currentParticipants: number;
+  // places restantes (réservations confirmées côté booking-service)
+  seatsLeft?: number;
   startTime: string;
   endTime: string;
 }
@@ -76,7 +82,42 @@ export interface Booking {
   id: number;
   memberId: number;
   activityId: number;
-  status: "CONFIRMED" | "CANCELLED";
+  status: "CONFIRMED" | "PENDING" | "CANCELLED";
+}
+
+export interface BookingBatchResult {
+  index?: number;
+  bookingId?: number;
+  memberId: number;
+  activityId: number;
+  status: Booking["status"] | "REJECTED";
+  error?: string;
+}
+
+export interface BookingExpanded extends Booking {
+  member: Pick<Member, "id" | "firstName" | "lastName" | "email"> | null;
+  activity: Pick<Activity, "id" | "name" | "coach" | "startTime" | "endTime"> | null;
+}
+
+export interface DashboardStats {
+  members: {
+    total: number;
+    bySubscriptionStatus: Record<string, number>;
+  };
+  activities: {
+    totalActivities: number;
+    fullActivities: number;
+    totalCapacity: number;
+    totalParticipants: number;
+    fillRate: number;
+  };
+  bookings: {
+    total: number;
+    today: number;
+    byStatus: Record<string, number>;
+    byDay: Record<string, number>;
+    recent: Booking[];
+  };
 }
 
 export interface Payment {
@@ -124,15 +165,29 @@ export const stripeApi = {
 export const memberService = {
   getAll: () => apiClient.get<Member[]>("/api/members"),
   getById: (id: number) => apiClient.get<Member>(`/api/members/${id}`),
-  create: (data: Omit<Member, "id">) =>
-    apiClient.post<Member>("/api/members", data),
+  create: (data: Omit<Member, "id">, idempotencyKey: string = crypto.randomUUID()) =>
+    apiClient.post<Member>("/api/members", data, {
+      headers: { "Idempotency-Key": idempotencyKey },
+    }),
   update: (id: number, data: Partial<Member>) =>
     apiClient.put<Member>(`/api/members/${id}`, data),
   delete: (id: number) => apiClient.delete(`/api/members/${id}`),
+  // import CSV / NDJSON : réponse NDJSON (erreurs par ligne, progression, bilan)
+  import: (file: File) =>
+    apiClient.post<string>("/api/members/import", file, {
+      headers: {
+        "Content-Type": file.name.endsWith(".csv") ? "text/csv" : "application/x-ndjson",
+      },
+      responseType: "text",
+      transformResponse: (r) => r,
+    }),
 };
 
 export const activityService = {
   getAll: () => apiClient.get<Activity[]>("/api/activities"),
+  // créneaux qui chevauchent [from, to) (dates ISO)
+  getBetween: (params: { from: string; to: string; coach?: string }) =>
+    apiClient.get<Activity[]>("/api/activities", { params }),
   getById: (id: number) =>
     apiClient.get<Activity>(`/api/activities/${id}`),
   create: (data: Omit<Activity, "id">) =>
@@ -141,18 +196,36 @@ export const activityService = {
     apiClient.put<Activity>(`/api/activities/${id}`, data),
   delete: (id: number) =>
     apiClient.delete(`/api/activities/${id}`),
+  // coach absent : annule toutes les réservations actives de l'activité
+  cancelAllBookings: (id: number) =>
+    apiClient.put<BookingBatchResult[]>(`/api/activities/${id}/bookings/cancel-all`),
 };
 
 export const bookingService = {
   getAll: () => apiClient.get<Booking[]>("/api/bookings"),
-  create: (data: { memberId: number; activityId: number }) =>
-    apiClient.post<Booking>("/api/bookings", data),
+  getExpanded: (params: { after?: number; limit?: number } = {}) =>
+    apiClient.get<BookingExpanded[]>("/api/bookings/expanded", { params }),
+  // même clé pour un nouvel essai : la réservation d'origine est renvoyée, pas de doublon
+  create: (
+    data: { memberId: number; activityId: number },
+    idempotencyKey: string = crypto.randomUUID()
+  ) =>
+    apiClient.post<Booking>("/api/bookings", data, {
+      headers: { "Idempotency-Key": idempotencyKey },
+    }),
+  // groupe : un résultat par élément, dans l'ordre envoyé
+  createBatch: (items: { memberId: number; activityId: number }[]) =>
+    apiClient.post<BookingBatchResult[]>("/api/bookings/batch", items),
   delete: (id: number) =>
     apiClient.delete(`/api/bookings/${id}`),
       cancel: (id: number) =>
     apiClient.put<Booking>(`/api/bookings/${id}/cancel`),
 };
 
+export const dashboardService = {
+  get: () => apiClient.get<DashboardStats>("/api/dashboard"),
+};
+
 /* ======================================================
    PAYMENT SERVICE (JWT)
 ====================================================== */
@@ -276,11 +349,12 @@ export const paiementsApi = {
 
 export const authService = {
   login: async (username: string, password: string) => {
-    localStorage.setItem(
-      "auth_credentials",
-      btoa(`${username}:${password}`)
+    // JWT signé par l'api-gateway (rôle + expiration)
+    const res = await axios.post<{ token: string }>(
+      `${API_GATEWAY}/auth/login`,
+      { username, password }
     );
-    await memberService.getAll();
+    localStorage.setItem("gateway_token", res.data.token);
     try {
       await paymentService.getToken(username, password);
     } catch {}
@@ -292,7 +366,7 @@ export const authService = {
   },
 
   isAuthenticated: () =>
-    !!localStorage.getItem("auth_credentials"),
+    !!localStorage.getItem("gateway_token"),
 };
 
 export default apiClient;
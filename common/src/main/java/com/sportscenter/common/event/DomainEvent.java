@@ -0,0 +1,58 @@
+package com.sportscenter.common.event;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Événement métier publié par le relais de l'outbox, identique d'un service à l'autre.
+ * Livraison « au moins une fois » : un consommateur peut recevoir deux fois le même id.
+ */
+public class DomainEvent {
+
+    public static final String BOOKING_CREATED = "BookingCreated";
+    public static final String BOOKING_CANCELLED = "BookingCancelled";
+    // réservation en attente promue (place libérée)
+    public static final String BOOKING_CONFIRMED = "BookingConfirmed";
+    public static final String MEMBER_SUBSCRIPTION_CHANGED = "MemberSubscriptionChanged";
+    public static final String ACTIVITY_UPDATED = "ActivityUpdated";
+
+    private String id;
+    private String type;
+    private String source;
+    private String aggregateType;
+    private Long aggregateId;
+    private LocalDateTime occurredAt;
+    private Map<String, Object> payload;
+
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+
+    public String getType() { return type; }
+    public void setType(String type) { this.type = type; }
+
+    public String getSource() { return source; }
+    public void setSource(String source) { this.source = source; }
+
+    public String getAggregateType() { return aggregateType; }
+    public void setAggregateType(String aggregateType) { this.aggregateType = aggregateType; }
+
+    public Long getAggregateId() { return aggregateId; }
+    public void setAggregateId(Long aggregateId) { this.aggregateId = aggregateId; }
+
+    public LocalDateTime getOccurredAt() { return occurredAt; }
+    public void setOccurredAt(LocalDateTime occurredAt) { this.occurredAt = occurredAt; }
+
+    public Map<String, Object> getPayload() { return payload; }
+    public void setPayload(Map<String, Object> payload) { this.payload = payload; }
+
+    // champ numérique du payload (les nombres JSON relus sont Integer ou Long)
+    public Long getLong(String field) {
+        Object value = payload != null ? payload.get(field) : null;
+        return value instanceof Number ? ((Number) value).longValue() : null;
+    }
+
+    public String getString(String field) {
+        Object value = payload != null ? payload.get(field) : null;
+        return value != null ? value.toString() : null;
+    }
+}
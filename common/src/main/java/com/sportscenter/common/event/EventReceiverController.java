@@ -0,0 +1,27 @@
+package com.sportscenter.common.event;
+
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+// point d'entrée du transport http : les événements reçus sont remis aux @EventListener locaux
+// (non routé par l'api-gateway)
+@RestController
+public class EventReceiverController {
+
+    private final ApplicationEventPublisher publisher;
+
+    public EventReceiverController(ApplicationEventPublisher publisher) {
+        this.publisher = publisher;
+    }
+
+    @PostMapping("/internal/events")
+    public ResponseEntity<Void> receive(@RequestBody List<DomainEvent> events) {
+        events.forEach(publisher::publishEvent);
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,16 @@
+package com.sportscenter.common.event;
+
+import java.util.List;
+
+/**
+ * Transport des événements de l'outbox (events.transport) :
+ * - http (par défaut) : envoyés en lot à POST /internal/events des services abonnés ;
+ * - in-process : livrés aux @EventListener du service lui-même, seulement si émetteur et
+ *   abonnés tournent dans le même processus (sinon les événements sont perdus).
+ *
+ * Une exception fait échouer le lot : les lignes restent non publiées et sont renvoyées.
+ */
+public interface EventTransport {
+
+    void publish(List<DomainEvent> events);
+}
@@ -0,0 +1,34 @@
+package com.sportscenter.common.event;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.List;
+
+@Component
+@ConditionalOnProperty(name = "events.transport", havingValue = "http", matchIfMissing = true)
+public class HttpEventTransport implements EventTransport {
+
+    private final RestTemplate restTemplate;
+    private final List<String> subscribers;
+
+    public HttpEventTransport(RestTemplate restTemplate,
+                              @Value("${events.http.subscribers:}") List<String> subscribers) {
+        // sans abonné, le relais marquerait les lignes publiées alors que personne ne les a reçues
+        if (subscribers.isEmpty()) {
+            throw new IllegalStateException("events.http.subscribers vide : aucun service ne recevrait les événements");
+        }
+        this.restTemplate = restTemplate;
+        this.subscribers = subscribers;
+    }
+
+    // un POST par abonné et par lot ; un abonné en erreur fait rejouer le lot à tous
+    @Override
+    public void publish(List<DomainEvent> events) {
+        for (String subscriber : subscribers) {
+            restTemplate.postForLocation(subscriber, events);
+        }
+    }
+}
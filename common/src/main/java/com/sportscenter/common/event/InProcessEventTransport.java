@@ -0,0 +1,23 @@
+package com.sportscenter.common.event;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Component
+@ConditionalOnProperty(name = "events.transport", havingValue = "in-process")
+public class InProcessEventTransport implements EventTransport {
+
+    private final ApplicationEventPublisher publisher;
+
+    public InProcessEventTransport(ApplicationEventPublisher publisher) {
+        this.publisher = publisher;
+    }
+
+    @Override
+    public void publish(List<DomainEvent> events) {
+        events.forEach(publisher::publishEvent);
+    }
+}
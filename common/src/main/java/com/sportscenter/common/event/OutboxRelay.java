@@ -0,0 +1,116 @@
+package com.sportscenter.common.event;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Publie les lignes de l'outbox par lots, en tâche de fond.
+ *
+ * Les lignes sont réservées (FOR UPDATE SKIP LOCKED), publiées puis marquées dans la
+ * même transaction : si le transport échoue, la transaction est annulée et le lot
+ * repart au tour suivant. Tant qu'un lot est complet, le suivant est traité sans attendre.
+ */
+@Component
+public class OutboxRelay {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxRelay.class);
+
+    private static final TypeReference<Map<String, Object>> PAYLOAD_TYPE = new TypeReference<>() {};
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final EventTransport transport;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final String source;
+    private final int batchSize;
+    private final Duration retention;
+
+    public OutboxRelay(OutboxEventRepository outboxEventRepository,
+                       EventTransport transport,
+                       TransactionTemplate transactionTemplate,
+                       ObjectMapper objectMapper,
+                       @Value("${spring.application.name}") String source,
+                       @Value("${events.outbox.batch-size:100}") int batchSize,
+                       @Value("${events.outbox.retention:7d}") Duration retention) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.transport = transport;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.source = source;
+        this.batchSize = batchSize;
+        this.retention = retention;
+    }
+
+    @Scheduled(fixedDelayString = "${events.outbox.poll-interval:1000}")
+    public void relay() {
+        try {
+            int published;
+            do {
+                published = publishBatch();
+            } while (published == batchSize);
+        } catch (RuntimeException e) {
+            log.warn("Publication de l'outbox interrompue, nouvel essai au prochain tour", e);
+        }
+    }
+
+    // lignes publiées conservées un temps pour diagnostic, puis purgées
+    @Scheduled(fixedDelayString = "${events.outbox.purge-interval:3600000}")
+    public void purge() {
+        Integer deleted = transactionTemplate.execute(status ->
+                outboxEventRepository.deletePublishedBefore(LocalDateTime.now().minus(retention)));
+        if (deleted != null && deleted > 0) {
+            log.info("{} événements publiés purgés de l'outbox", deleted);
+        }
+    }
+
+    private int publishBatch() {
+        Integer published = transactionTemplate.execute(status -> {
+            List<OutboxEvent> rows = outboxEventRepository.claimUnpublished(PageRequest.of(0, batchSize));
+            if (rows.isEmpty()) {
+                return 0;
+            }
+
+            List<DomainEvent> events = new ArrayList<>(rows.size());
+            List<Long> ids = new ArrayList<>(rows.size());
+            for (OutboxEvent row : rows) {
+                events.add(toEvent(row));
+                ids.add(row.getId());
+            }
+            transport.publish(events);
+            outboxEventRepository.markPublished(ids, LocalDateTime.now());
+            return rows.size();
+        });
+        return published != null ? published : 0;
+    }
+
+    private DomainEvent toEvent(OutboxEvent row) {
+        DomainEvent event = new DomainEvent();
+        event.setId(row.getEventId());
+        event.setType(row.getEventType());
+        event.setSource(source);
+        event.setAggregateType(row.getAggregateType());
+        event.setAggregateId(row.getAggregateId());
+        event.setOccurredAt(row.getCreatedAt());
+        try {
+            event.setPayload(objectMapper.readValue(row.getPayload(), PAYLOAD_TYPE));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return event;
+    }
+}
@@ -0,0 +1,81 @@
+package com.sportscenter.common.event;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Écriture des événements dans l'outbox. Toujours dans la transaction de la
+ * modification métier (MANDATORY) : l'événement existe si et seulement si
+ * la modification est validée.
+ */
+@Service
+public class OutboxService {
+
+    private static final String INSERT_SQL = "INSERT INTO outbox_events "
+            + "(event_id, event_type, aggregate_type, aggregate_id, payload, created_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    public OutboxService(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(Entry entry) {
+        recordAll(List.of(entry));
+    }
+
+    // un lot d'événements = un batch JDBC
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordAll(List<Entry> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> rows = new ArrayList<>(entries.size());
+        for (Entry entry : entries) {
+            rows.add(new Object[] {
+                    UUID.randomUUID().toString(), entry.type, entry.aggregateType,
+                    entry.aggregateId, toJson(entry.payload), now
+            });
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+    }
+
+    private String toJson(Map<String, Object> payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Payload d'événement non sérialisable", e);
+        }
+    }
+
+    public static final class Entry {
+
+        final String type;
+        final String aggregateType;
+        final Long aggregateId;
+        final Map<String, Object> payload;
+
+        public Entry(String type, String aggregateType, Long aggregateId, Map<String, Object> payload) {
+            this.type = type;
+            this.aggregateType = aggregateType;
+            this.aggregateId = aggregateId;
+            this.payload = payload;
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.sportscenter.common.execution;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * 🧵 execution.threads=virtual : chaque requête http (et ses appels JDBC) s'exécute sur
+ * un thread virtuel au lieu d'un thread du pool Tomcat. Nécessite un JDK 21 à l'exécution ;
+ * le code reste compilé en Java 11, l'API est donc appelée par réflexion.
+ *
+ * La base est protégée par ConcurrencyLimitedDataSource (execution.datasource.*).
+ */
+@Configuration
+@ConditionalOnProperty(name = "execution.threads", havingValue = "virtual")
+public class VirtualThreadConfig {
+
+    private static final String THREAD_PREFIX = "http-virtual-";
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadExecutorCustomizer() {
+        ExecutorService executor = newVirtualThreadExecutor();
+        return protocolHandler -> protocolHandler.setExecutor(executor);
+    }
+
+    // static : post-processeur créé avant les autres beans de la configuration
+    @Bean
+    public static BeanPostProcessor concurrencyLimitedDataSourcePostProcessor(Environment environment,
+                                                                              ObjectProvider<MeterRegistry> registry) {
+        int maxConcurrent = environment.getProperty("execution.datasource.max-concurrent", Integer.class,
+                environment.getProperty("spring.datasource.hikari.maximum-pool-size", Integer.class, 10));
+        Duration acquireTimeout = environment.getProperty("execution.datasource.acquire-timeout",
+                Duration.class, Duration.ofSeconds(3));
+
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource) || bean instanceof ConcurrencyLimitedDataSource) {
+                    return bean;
+                }
+                ConcurrencyLimitedDataSource limited =
+                        new ConcurrencyLimitedDataSource((DataSource) bean, maxConcurrent, acquireTimeout);
+                registry.ifAvailable(meters -> Gauge.builder("execution.datasource.waiting",
+                                limited, ConcurrencyLimitedDataSource::getWaiting)
+                        .description("Threads en attente d'une connexion (limite execution.datasource)")
+                        .tag("datasource", beanName)
+                        .register(meters));
+                return limited;
+            }
+        };
+    }
+
+    // Thread.ofVirtual().name(prefix, 0).factory() puis Executors.newThreadPerTaskExecutor(factory)
+    private static ExecutorService newVirtualThreadExecutor() {
+        try {
+            Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            builder = builderType.getMethod("name", String.class, long.class).invoke(builder, THREAD_PREFIX, 0L);
+            ThreadFactory factory = (ThreadFactory) builderType.getMethod("factory").invoke(builder);
+            return (ExecutorService) Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class)
+                    .invoke(null, factory);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("execution.threads=virtual nécessite un JDK 21 ou plus (JDK actuel : "
+                    + Runtime.version() + ")", e);
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.sportscenter.common.idempotency;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.function.Supplier;
+
+/**
+ * En-tête {@code Idempotency-Key} des POST : un nouvel essai avec la même clé (timeout
+ * côté client, retry de la gateway) reçoit la réponse d'origine sans repasser par l'écriture.
+ *
+ * - même clé, autre corps de requête : 422 ;
+ * - même clé pendant que la première exécution tourne encore : 409 ;
+ * - exception pendant l'exécution : clé libérée, l'essai suivant réexécute ;
+ * - instance arrêtée pendant l'exécution : la clé expire au bout du bail (idempotency.lease).
+ */
+@Service
+public class IdempotencyService {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final int MAX_KEY_LENGTH = 200;
+
+    private final IdempotencyStore store;
+    private final ObjectMapper objectMapper;
+
+    public IdempotencyService(IdempotencyStore store, ObjectMapper objectMapper) {
+        this.store = store;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * @param scope  point d'entrée (la même clé peut servir sur deux routes différentes)
+     * @param key    valeur de l'en-tête, null si absent (exécution directe)
+     * @param request corps de la requête, comparé entre deux essais
+     */
+    public <T> ResponseEntity<T> execute(String scope, String key, Object request, Class<T> type,
+                                         Supplier<ResponseEntity<T>> action) {
+        if (key == null) {
+            return action.get();
+        }
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Idempotency-Key invalide (1 à " + MAX_KEY_LENGTH + " caractères)");
+        }
+
+        String storeKey = scope + ":" + key;
+        String fingerprint = fingerprint(request);
+        StoredResponse existing = store.begin(storeKey, fingerprint);
+        if (existing != null) {
+            return replay(existing, fingerprint, type);
+        }
+
+        ResponseEntity<T> response;
+        try {
+            response = action.get();
+        } catch (RuntimeException | Error e) {
+            store.abandon(storeKey);
+            throw e;
+        }
+        store.complete(storeKey, new StoredResponse(fingerprint, response.getStatusCodeValue(), toJson(response.getBody())));
+        return response;
+    }
+
+    private <T> ResponseEntity<T> replay(StoredResponse existing, String fingerprint, Class<T> type) {
+        if (!existing.getFingerprint().equals(fingerprint)) {
+            throw new ResponseStatusException(HttpStatus.UNPROCESSABLE_ENTITY,
+                    "Idempotency-Key déjà utilisée pour une autre requête");
+        }
+        if (existing.isInProgress()) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT,
+                    "Requête déjà en cours de traitement pour cette Idempotency-Key");
+        }
+        T body;
+        try {
+            body = existing.getBody() != null ? objectMapper.readValue(existing.getBody(), type) : null;
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Réponse mémorisée illisible", e);
+        }
+        return ResponseEntity.status(existing.getStatus())
+                .header(REPLAYED_HEADER, "true")
+                .body(body);
+    }
+
+    private String fingerprint(Object request) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(
+                    request != null ? objectMapper.writeValueAsBytes(request) : new byte[0]);
+            StringBuilder hex = new StringBuilder(digest.length * 2);
+            for (byte b : digest) {
+                hex.append(String.format("%02x", b));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException | JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private String toJson(Object body) {
+        try {
+            return body != null ? objectMapper.writeValueAsString(body) : null;
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.sportscenter.common.idempotency;
+
+// clés d'idempotence récentes et réponses associées (mémoire ou table idempotency_keys)
+public interface IdempotencyStore {
+
+    /**
+     * Réserve la clé pour une première exécution. Renvoie null si la clé est libre
+     * (l'appelant exécute puis appelle complete ou abandon), sinon l'entrée existante.
+     */
+    StoredResponse begin(String key, String fingerprint);
+
+    void complete(String key, StoredResponse response);
+
+    // échec de l'exécution : la clé est libérée, un nouvel essai repasse par l'écriture
+    void abandon(String key);
+}
@@ -0,0 +1,69 @@
+package com.sportscenter.common.idempotency;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+// une instance : clés gardées en mémoire, bornées en nombre et en durée (bail pour les clés en cours)
+@Component
+@ConditionalOnProperty(name = "idempotency.store", havingValue = "memory", matchIfMissing = true)
+public class InMemoryIdempotencyStore implements IdempotencyStore {
+
+    private final Cache<String, StoredResponse> responses;
+
+    public InMemoryIdempotencyStore(@Value("${idempotency.max-keys:100000}") long maxKeys,
+                                    @Value("${idempotency.ttl:24h}") Duration ttl,
+                                    @Value("${idempotency.lease:30s}") Duration lease) {
+        this.responses = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfter(new LeaseExpiry(ttl.toNanos(), lease.toNanos()))
+                .build();
+    }
+
+    @Override
+    public StoredResponse begin(String key, String fingerprint) {
+        return responses.asMap().putIfAbsent(key, StoredResponse.inProgress(fingerprint));
+    }
+
+    @Override
+    public void complete(String key, StoredResponse response) {
+        responses.put(key, response);
+    }
+
+    @Override
+    public void abandon(String key) {
+        responses.invalidate(key);
+    }
+
+    // clé en cours : bail court ; réponse mémorisée : ttl à partir de complete
+    private static final class LeaseExpiry implements Expiry<String, StoredResponse> {
+
+        private final long ttlNanos;
+        private final long leaseNanos;
+
+        LeaseExpiry(long ttlNanos, long leaseNanos) {
+            this.ttlNanos = ttlNanos;
+            this.leaseNanos = leaseNanos;
+        }
+
+        @Override
+        public long expireAfterCreate(String key, StoredResponse value, long currentTime) {
+            return value.isInProgress() ? leaseNanos : ttlNanos;
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, StoredResponse value, long currentTime, long currentDuration) {
+            return value.isInProgress() ? leaseNanos : ttlNanos;
+        }
+
+        @Override
+        public long expireAfterRead(String key, StoredResponse value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.sportscenter.common.idempotency;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Plusieurs instances derrière la gateway : un nouvel essai peut arriver sur une autre
+ * instance, les clés sont donc partagées par la table idempotency_keys.
+ * La clé primaire arbitre deux essais simultanés : un seul INSERT passe.
+ *
+ * Une clé « en cours » n'est réservée que pour la durée du bail (idempotency.lease) : si
+ * l'instance qui l'exécute s'arrête sans complete ni abandon, la clé expire et un nouvel
+ * essai réexécute. La réponse mémorisée, elle, est gardée idempotency.ttl.
+ */
+@Component
+@ConditionalOnProperty(name = "idempotency.store", havingValue = "jdbc")
+public class JdbcIdempotencyStore implements IdempotencyStore {
+
+    private static final Logger log = LoggerFactory.getLogger(JdbcIdempotencyStore.class);
+
+    private static final String INSERT_SQL = "INSERT INTO idempotency_keys "
+            + "(idem_key, fingerprint, status, created_at, expires_at) VALUES (?, ?, 0, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Duration ttl;
+    private final Duration lease;
+
+    public JdbcIdempotencyStore(JdbcTemplate jdbcTemplate,
+                                @Value("${idempotency.ttl:24h}") Duration ttl,
+                                @Value("${idempotency.lease:30s}") Duration lease) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.ttl = ttl;
+        this.lease = lease;
+    }
+
+    @Override
+    public StoredResponse begin(String key, String fingerprint) {
+        LocalDateTime now = LocalDateTime.now();
+        // deux passes : une clé expirée (ou un bail échu) pas encore purgée est supprimée puis réservée
+        for (int attempt = 0; attempt < 2; attempt++) {
+            try {
+                jdbcTemplate.update(INSERT_SQL, key, fingerprint,
+                        Timestamp.valueOf(now), Timestamp.valueOf(now.plus(lease)));
+                return null;
+            } catch (DuplicateKeyException e) {
+                List<StoredResponse> existing = jdbcTemplate.query(
+                        "SELECT fingerprint, status, body FROM idempotency_keys WHERE idem_key = ? AND expires_at > ?",
+                        (rs, i) -> new StoredResponse(rs.getString("fingerprint"), rs.getInt("status"), rs.getString("body")),
+                        key, Timestamp.valueOf(now));
+                if (!existing.isEmpty()) {
+                    return existing.get(0);
+                }
+                jdbcTemplate.update("DELETE FROM idempotency_keys WHERE idem_key = ? AND expires_at <= ?",
+                        key, Timestamp.valueOf(now));
+            }
+        }
+        // réservée entre-temps par un autre essai
+        return StoredResponse.inProgress(fingerprint);
+    }
+
+    @Override
+    public void complete(String key, StoredResponse response) {
+        // fin du bail : la réponse est gardée ttl à partir de maintenant
+        jdbcTemplate.update("UPDATE idempotency_keys SET status = ?, body = ?, expires_at = ? WHERE idem_key = ?",
+                response.getStatus(), response.getBody(), Timestamp.valueOf(LocalDateTime.now().plus(ttl)), key);
+    }
+
+    @Override
+    public void abandon(String key) {
+        jdbcTemplate.update("DELETE FROM idempotency_keys WHERE idem_key = ?", key);
+    }
+
+    @Scheduled(fixedDelayString = "${idempotency.purge-interval:3600000}")
+    public void purge() {
+        int deleted = jdbcTemplate.update("DELETE FROM idempotency_keys WHERE expires_at <= ?",
+                Timestamp.valueOf(LocalDateTime.now()));
+        if (deleted > 0) {
+            log.info("{} clés d'idempotence expirées purgées", deleted);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.sportscenter.common.idempotency;
+
+// réponse mémorisée pour une clé ; status 0 = première exécution encore en cours
+public final class StoredResponse {
+
+    private final String fingerprint;
+    private final int status;
+    private final String body;
+
+    public StoredResponse(String fingerprint, int status, String body) {
+        this.fingerprint = fingerprint;
+        this.status = status;
+        this.body = body;
+    }
+
+    static StoredResponse inProgress(String fingerprint) {
+        return new StoredResponse(fingerprint, 0, null);
+    }
+
+    public boolean isInProgress() { return status == 0; }
+
+    public String getFingerprint() { return fingerprint; }
+    public int getStatus() { return status; }
+    public String getBody() { return body; }
+}
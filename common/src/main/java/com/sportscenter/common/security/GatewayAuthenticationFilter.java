@@ -0,0 +1,61 @@
+package com.sportscenter.common.security;
+
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Collections;
+
+/**
+ * Authentifie les requêtes relayées par l'api-gateway, qui a déjà vérifié le JWT :
+ * l'identité (X-Auth-User / X-Auth-Role) n'est acceptée que si X-Gateway-Secret
+ * correspond au secret partagé. Les autres appels (service à service) restent en httpBasic.
+ *
+ * Pas de secret par défaut : sans security.gateway.shared-secret, le service refuse de démarrer.
+ */
+public class GatewayAuthenticationFilter extends OncePerRequestFilter {
+
+    public static final String USER_HEADER = "X-Auth-User";
+    public static final String ROLE_HEADER = "X-Auth-Role";
+    public static final String GATEWAY_SECRET_HEADER = "X-Gateway-Secret";
+
+    private final byte[] sharedSecret;
+
+    public GatewayAuthenticationFilter(String sharedSecret) {
+        if (sharedSecret == null || sharedSecret.isBlank()) {
+            throw new IllegalStateException(
+                    "security.gateway.shared-secret manquant (variable GATEWAY_SHARED_SECRET)");
+        }
+        this.sharedSecret = sharedSecret.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain chain) throws ServletException, IOException {
+
+        String secret = request.getHeader(GATEWAY_SECRET_HEADER);
+        String user = request.getHeader(USER_HEADER);
+
+        if (secret != null && user != null
+                && MessageDigest.isEqual(sharedSecret, secret.getBytes(StandardCharsets.UTF_8))) {
+            String role = request.getHeader(ROLE_HEADER);
+            UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
+                    user, null,
+                    role == null
+                            ? Collections.emptyList()
+                            : Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + role)));
+            SecurityContextHolder.getContext().setAuthentication(authentication);
+        }
+
+        chain.doFilter(request, response);
+    }
+}
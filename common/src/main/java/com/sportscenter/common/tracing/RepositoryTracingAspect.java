@@ -0,0 +1,65 @@
+package com.sportscenter.common.tracing;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.cloud.sleuth.Span;
+import org.springframework.cloud.sleuth.Tracer;
+import org.springframework.data.repository.Repository;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Un span par appel de repository Spring Data (BookingRepository.findByMemberId, ...),
+ * parent des spans JDBC (connexion, requêtes) : le temps passé en base se lit par méthode.
+ *
+ * Seulement à l'intérieur d'une trace existante : pas de trace ouverte pour un appel isolé.
+ * Absent de l'api-gateway, qui n'a pas de Spring Data.
+ */
+@Aspect
+@Component
+@ConditionalOnClass(name = "org.springframework.data.repository.Repository")
+public class RepositoryTracingAspect {
+
+    private final Tracer tracer;
+    private final Map<Class<?>, String> names = new ConcurrentHashMap<>();
+
+    public RepositoryTracingAspect(Tracer tracer) {
+        this.tracer = tracer;
+    }
+
+    @Around("this(org.springframework.data.repository.Repository)")
+    public Object trace(ProceedingJoinPoint call) throws Throwable {
+        if (tracer.currentSpan() == null) {
+            return call.proceed();
+        }
+
+        Span span = tracer.nextSpan()
+                .name(repositoryName(call.getThis().getClass()) + "." + call.getSignature().getName())
+                .start();
+        try (Tracer.SpanInScope ignored = tracer.withSpan(span)) {
+            return call.proceed();
+        } catch (Throwable e) {
+            span.error(e);
+            throw e;
+        } finally {
+            span.end();
+        }
+    }
+
+    // interface déclarée par le service, pas JpaRepository / CrudRepository
+    private String repositoryName(Class<?> proxyClass) {
+        return names.computeIfAbsent(proxyClass, type -> {
+            for (Class<?> candidate : type.getInterfaces()) {
+                if (Repository.class.isAssignableFrom(candidate)
+                        && !candidate.getName().startsWith("org.springframework.")) {
+                    return candidate.getSimpleName();
+                }
+            }
+            return type.getSimpleName();
+        });
+    }
+}
@@ -0,0 +1,129 @@
+package com.sportscenter.common.tracing;
+
+import brave.handler.MutableSpan;
+import brave.handler.SpanHandler;
+import brave.propagation.TraceContext;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Échantillonnage en fin de trace : tous les spans sont enregistrés (sampler à 1.0),
+ * mis de côté jusqu'à la fin de la racine locale (requête http reçue, tâche planifiée),
+ * puis exportés seulement si la trace est utile.
+ *
+ * - toujours gardée : racine plus longue que slow-threshold, ou un span en erreur (exception, 5xx) ;
+ * - sinon gardée pour baseline-ratio des traceId : décision calculée sur le traceId, donc
+ *   identique dans la gateway et dans chaque service (trace complète de bout en bout).
+ *
+ * Chaque processus décide pour sa partie de la trace : un appel lent côté booking-service
+ * l'est aussi côté gateway, les deux parties sont gardées.
+ */
+@Component
+public class TailSamplingSpanHandler extends SpanHandler {
+
+    private static final long RATIO_SCALE = 10_000;
+    // spans terminés après leur racine locale (tâche asynchrone) : purgés au-delà
+    private static final long MAX_PENDING_AGE = TimeUnit.MINUTES.toNanos(1);
+
+    private final TraceFileExporter exporter;
+    private final long slowThresholdMicros;
+    private final long baselineThreshold;
+    private final int maxPendingTraces;
+
+    private final Map<Long, PendingTrace> pending = new ConcurrentHashMap<>();
+
+    public TailSamplingSpanHandler(TraceFileExporter exporter,
+                                   @Value("${tracing.export.slow-threshold:500ms}") Duration slowThreshold,
+                                   @Value("${tracing.export.baseline-ratio:0.01}") double baselineRatio,
+                                   @Value("${tracing.export.max-pending-traces:10000}") int maxPendingTraces) {
+        this.exporter = exporter;
+        this.slowThresholdMicros = TimeUnit.NANOSECONDS.toMicros(slowThreshold.toNanos());
+        this.baselineThreshold = (long) (baselineRatio * RATIO_SCALE);
+        this.maxPendingTraces = maxPendingTraces;
+    }
+
+    @Override
+    public boolean end(TraceContext context, MutableSpan span, Cause cause) {
+        if (cause == Cause.ABANDONED) {
+            return true;
+        }
+
+        long localRootId = context.localRootId();
+        if (context.spanId() != localRootId) {
+            PendingTrace trace = pending.get(localRootId);
+            if (trace == null) {
+                if (pending.size() >= maxPendingTraces && !purgeExpired()) {
+                    return true;
+                }
+                trace = pending.computeIfAbsent(localRootId, id -> new PendingTrace());
+            }
+            trace.add(span);
+            return true;
+        }
+
+        PendingTrace trace = pending.remove(localRootId);
+        List<MutableSpan> spans = trace != null ? trace.drain() : new ArrayList<>(1);
+        spans.add(span);
+
+        String reason = reason(context, span, spans);
+        if (reason != null) {
+            exporter.export(spans, span, reason);
+        }
+        return true;
+    }
+
+    private String reason(TraceContext context, MutableSpan root, List<MutableSpan> spans) {
+        for (MutableSpan span : spans) {
+            if (isError(span)) {
+                return "error";
+            }
+        }
+        if (root.finishTimestamp() - root.startTimestamp() >= slowThresholdMicros) {
+            return "slow";
+        }
+        if (Long.remainderUnsigned(context.traceId(), RATIO_SCALE) < baselineThreshold) {
+            return "baseline";
+        }
+        return null;
+    }
+
+    // un 4xx (409 complet, 401) est une réponse normale : seuls exceptions et 5xx comptent
+    private static boolean isError(MutableSpan span) {
+        if (span.error() != null) {
+            return true;
+        }
+        if (span.tag("error") == null) {
+            return false;
+        }
+        String status = span.tag("http.status_code");
+        return status == null || status.startsWith("5");
+    }
+
+    // true si de la place a été libérée
+    private boolean purgeExpired() {
+        long now = System.nanoTime();
+        pending.values().removeIf(trace -> now - trace.createdAt > MAX_PENDING_AGE);
+        return pending.size() < maxPendingTraces;
+    }
+
+    private static final class PendingTrace {
+
+        final long createdAt = System.nanoTime();
+        private final List<MutableSpan> spans = new ArrayList<>();
+
+        synchronized void add(MutableSpan span) {
+            spans.add(span);
+        }
+
+        synchronized List<MutableSpan> drain() {
+            return new ArrayList<>(spans);
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package com.sportscenter.common.tracing;
+
+import brave.handler.MutableSpan;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import javax.annotation.PreDestroy;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Écrit les traces gardées dans un fichier NDJSON, un span par ligne au format
+ * Zipkin v2 (importable dans l'interface Zipkin, lisible avec jq).
+ *
+ * Écriture sur un thread dédié, file bornée : sous forte charge, des traces sont
+ * perdues plutôt que de ralentir les requêtes.
+ */
+@Component
+public class TraceFileExporter {
+
+    private static final Logger log = LoggerFactory.getLogger(TraceFileExporter.class);
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final Path file;
+    private final long maxFileSize;
+    private final ThreadPoolExecutor writer = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(1_000),
+            r -> {
+                Thread thread = new Thread(r, "trace-export");
+                thread.setDaemon(true);
+                return thread;
+            },
+            new ThreadPoolExecutor.DiscardPolicy());
+
+    private BufferedWriter out;
+    private long written;
+
+    public TraceFileExporter(@Value("${tracing.export.file:traces/${spring.application.name}.ndjson}") String file,
+                             @Value("${tracing.export.max-file-size:50MB}") DataSize maxFileSize) {
+        this.file = Paths.get(file);
+        this.maxFileSize = maxFileSize.toBytes();
+    }
+
+    // reason (slow, error, baseline) ajouté en tag sur la racine locale
+    public void export(List<MutableSpan> spans, MutableSpan localRoot, String reason) {
+        List<String> lines = new ArrayList<>(spans.size());
+        for (MutableSpan span : spans) {
+            try {
+                lines.add(mapper.writeValueAsString(toZipkin(span, span == localRoot ? reason : null)));
+            } catch (IOException e) {
+                log.debug("Span non sérialisable : {}", span, e);
+            }
+        }
+        writer.execute(() -> write(lines));
+    }
+
+    @PreDestroy
+    public void close() throws InterruptedException {
+        writer.shutdown();
+        writer.awaitTermination(5, TimeUnit.SECONDS);
+        closeQuietly();
+    }
+
+    private void write(List<String> lines) {
+        try {
+            if (out == null) {
+                if (file.getParent() != null) {
+                    Files.createDirectories(file.getParent());
+                }
+                out = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                        StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+                written = Files.size(file);
+            }
+            for (String line : lines) {
+                out.write(line);
+                out.newLine();
+                written += line.length() + 1;
+            }
+            out.flush();
+            // un seul fichier précédent gardé (.1)
+            if (written >= maxFileSize) {
+                closeQuietly();
+                Files.move(file, Paths.get(file + ".1"), StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            log.warn("Export des traces impossible dans {}", file, e);
+            closeQuietly();
+        }
+    }
+
+    private void closeQuietly() {
+        if (out != null) {
+            try {
+                out.close();
+            } catch (IOException ignored) {
+                // fichier abandonné, rouvert à la prochaine trace
+            }
+            out = null;
+        }
+    }
+
+    private static Map<String, Object> toZipkin(MutableSpan span, String reason) {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("traceId", span.traceId());
+        if (span.parentId() != null) {
+            json.put("parentId", span.parentId());
+        }
+        json.put("id", span.id());
+        if (span.kind() != null) {
+            json.put("kind", span.kind().name());
+        }
+        json.put("name", span.name());
+        json.put("timestamp", span.startTimestamp());
+        json.put("duration", Math.max(span.finishTimestamp() - span.startTimestamp(), 1));
+        json.put("localEndpoint", Map.of("serviceName", String.valueOf(span.localServiceName())));
+
+        if (span.remoteServiceName() != null || span.remoteIp() != null) {
+            Map<String, Object> remote = new LinkedHashMap<>();
+            if (span.remoteServiceName() != null) {
+                remote.put("serviceName", span.remoteServiceName());
+            }
+            if (span.remoteIp() != null) {
+                remote.put("ipv4", span.remoteIp());
+                remote.put("port", span.remotePort());
+            }
+            json.put("remoteEndpoint", remote);
+        }
+
+        if (span.annotationCount() > 0) {
+            List<Map<String, Object>> annotations = new ArrayList<>();
+            for (int i = 0; i < span.annotationCount(); i++) {
+                annotations.add(Map.of("timestamp", span.annotationTimestampAt(i),
+                        "value", span.annotationValueAt(i)));
+            }
+            json.put("annotations", annotations);
+        }
+
+        Map<String, String> tags = new LinkedHashMap<>();
+        for (int i = 0; i < span.tagCount(); i++) {
+            tags.put(span.tagKeyAt(i), span.tagValueAt(i));
+        }
+        if (span.error() != null && !tags.containsKey("error")) {
+            tags.put("error", String.valueOf(span.error().getMessage()));
+        }
+        if (reason != null) {
+            tags.put("sampling.reason", reason);
+        }
+        json.put("tags", tags);
+        return json;
+    }
+}
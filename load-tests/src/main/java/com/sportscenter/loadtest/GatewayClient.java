@@ -0,0 +1,155 @@
+package com.sportscenter.loadtest;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Requêtes vers l'api-gateway, au nom d'utilisateurs virtuels.
+ *
+ * Chaque utilisateur a son propre JWT (signé avec security.jwt.secret de la gateway) :
+ * les quotas du RequestRateLimiter s'appliquent par utilisateur, comme en production,
+ * au lieu d'un seul compte qui serait limité à lui seul.
+ */
+public class GatewayClient {
+
+    private static final Base64.Encoder BASE64 = Base64.getUrlEncoder().withoutPadding();
+    private static final Duration TOKEN_TTL = Duration.ofHours(8);
+
+    private final String baseUrl;
+    private final Duration timeout;
+    private final ObjectMapper mapper;
+    private final HttpClient http;
+    private final String[] tokens;
+    private final String adminToken;
+
+    public GatewayClient(LoadTestOptions options, ObjectMapper mapper) {
+        this.baseUrl = options.getGatewayUrl();
+        this.timeout = options.getTimeout();
+        this.mapper = mapper;
+        // http/1.1 explicite : pas de tentative d'upgrade h2c à chaque connexion
+        this.http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(2))
+                .build();
+
+        byte[] secret = options.getJwtSecret().getBytes(StandardCharsets.UTF_8);
+        this.tokens = new String[options.getUsers()];
+        for (int i = 0; i < tokens.length; i++) {
+            tokens[i] = sign("loadtest-user-" + i, "MEMBER", secret);
+        }
+        this.adminToken = sign("loadtest-admin", "ADMIN", secret);
+    }
+
+    public int userCount() {
+        return tokens.length;
+    }
+
+    // créneaux du soir : plage couverte par les activités créées au chargement
+    public HttpRequest browse(int user, LocalDateTime from, LocalDateTime to) {
+        return request(tokens[user], "/api/activities?from=" + from + "&to=" + to).GET().build();
+    }
+
+    public HttpRequest book(int user, long memberId, long activityId) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("memberId", memberId);
+        body.put("activityId", activityId);
+        return request(tokens[user], "/api/bookings")
+                .header("Content-Type", "application/json")
+                .header("Idempotency-Key", UUID.randomUUID().toString())
+                .POST(HttpRequest.BodyPublishers.ofString(json(body)))
+                .build();
+    }
+
+    public HttpRequest cancel(int user, long bookingId) {
+        return request(tokens[user], "/api/bookings/" + bookingId + "/cancel")
+                .PUT(HttpRequest.BodyPublishers.noBody())
+                .build();
+    }
+
+    public HttpRequest dashboard(int user) {
+        return request(tokens[user], "/api/dashboard").GET().build();
+    }
+
+    public CompletableFuture<HttpResponse<String>> send(HttpRequest request) {
+        return http.sendAsync(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    // chargement des données : réparti entre les utilisateurs (quota par utilisateur), réponse attendue
+    public <T> T post(int user, String path, Object body, Class<T> type) throws IOException, InterruptedException {
+        HttpRequest request = request(tokens[user % tokens.length], path)
+                .header("Content-Type", "application/json")
+                .header("Idempotency-Key", UUID.randomUUID().toString())
+                .POST(HttpRequest.BodyPublishers.ofString(json(body)))
+                .build();
+        HttpResponse<String> response = http.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() / 100 != 2) {
+            throw new IllegalStateException("POST " + path + " : " + response.statusCode() + " " + response.body());
+        }
+        return mapper.readValue(response.body(), type);
+    }
+
+    // statut http, ou -1 si la gateway ne répond pas
+    public int probe(String path) {
+        try {
+            return http.send(request(adminToken, path).GET().build(),
+                    HttpResponse.BodyHandlers.discarding()).statusCode();
+        } catch (IOException e) {
+            return -1;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return -1;
+        }
+    }
+
+    private HttpRequest.Builder request(String token, String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(timeout)
+                .header("Authorization", "Bearer " + token);
+    }
+
+    private String json(Object body) {
+        try {
+            return mapper.writeValueAsString(body);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // même format que JwtService.generateToken (HS256, sujet, rôle, expiration)
+    private String sign(String subject, String role, byte[] secret) {
+        long now = System.currentTimeMillis() / 1000;
+        Map<String, Object> claims = new LinkedHashMap<>();
+        claims.put("sub", subject);
+        claims.put("role", role);
+        claims.put("iat", now);
+        claims.put("exp", now + TOKEN_TTL.getSeconds());
+
+        String unsigned = BASE64.encodeToString("{\"alg\":\"HS256\"}".getBytes(StandardCharsets.UTF_8))
+                + "." + BASE64.encodeToString(json(claims).getBytes(StandardCharsets.UTF_8));
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(secret, "HmacSHA256"));
+            return unsigned + "." + BASE64.encodeToString(mac.doFinal(unsigned.getBytes(StandardCharsets.US_ASCII)));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Signature du JWT impossible", e);
+        }
+    }
+}
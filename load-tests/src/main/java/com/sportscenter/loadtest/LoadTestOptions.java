@@ -0,0 +1,173 @@
+package com.sportscenter.loadtest;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Options de la ligne de commande, au format --nom=valeur.
+ */
+public class LoadTestOptions {
+
+    // local : lance eureka, gateway et services (profil local, H2) ; external : topologie déjà démarrée
+    private String topology = "local";
+    private Path projectDir = Paths.get("..");
+    private String gatewayUrl = "http://localhost:8080";
+    // topologie local : exécution des requêtes des services (virtual : lancer avec un JDK 21)
+    private String threads = "platform";
+
+    // modèle ouvert : arrivées au débit fixé, quelle que soit la latence des réponses
+    private double rate = 50;
+    private boolean poisson = true;
+    private Duration warmup = Duration.ofSeconds(10);
+    private Duration duration = Duration.ofSeconds(60);
+    private TrafficMix mix = TrafficMix.parse("browse=60,book=25,cancel=10,dashboard=5");
+
+    // sujets JWT distincts : le quota du RequestRateLimiter est par utilisateur
+    private int users = 200;
+    private int members = 500;
+    private int activities = 40;
+    private int capacity = 20;
+
+    // au-delà, l'arrivée est comptée comme abandonnée (le générateur, pas le système, sature)
+    private int maxInFlight = 2000;
+    private Duration timeout = Duration.ofSeconds(10);
+
+    // clé de la gateway : JWT_SECRET ou --jwt-secret ; en topologie local, tirée au hasard si absente
+    private String jwtSecret = System.getenv("JWT_SECRET");
+    private Path result = Paths.get("target/load-test-result.json");
+
+    public static LoadTestOptions parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (!arg.startsWith("--") || eq < 0) {
+                throw new IllegalArgumentException("Option invalide (attendu --nom=valeur) : " + arg);
+            }
+            values.put(arg.substring(2, eq), arg.substring(eq + 1));
+        }
+
+        LoadTestOptions options = new LoadTestOptions();
+        for (Map.Entry<String, String> entry : values.entrySet()) {
+            String value = entry.getValue();
+            switch (entry.getKey()) {
+                case "topology":
+                    if (!"local".equals(value) && !"external".equals(value)) {
+                        throw new IllegalArgumentException("topology : local ou external");
+                    }
+                    options.topology = value;
+                    break;
+                case "project-dir":
+                    options.projectDir = Paths.get(value);
+                    break;
+                case "threads":
+                    if (!"platform".equals(value) && !"virtual".equals(value)) {
+                        throw new IllegalArgumentException("threads : platform ou virtual");
+                    }
+                    options.threads = value;
+                    break;
+                case "gateway":
+                    options.gatewayUrl = value.endsWith("/") ? value.substring(0, value.length() - 1) : value;
+                    break;
+                case "rate":
+                    options.rate = Double.parseDouble(value);
+                    break;
+                case "arrivals":
+                    if (!"poisson".equals(value) && !"uniform".equals(value)) {
+                        throw new IllegalArgumentException("arrivals : poisson ou uniform");
+                    }
+                    options.poisson = "poisson".equals(value);
+                    break;
+                case "warmup":
+                    options.warmup = parseDuration(value);
+                    break;
+                case "duration":
+                    options.duration = parseDuration(value);
+                    break;
+                case "mix":
+                    options.mix = TrafficMix.parse(value);
+                    break;
+                case "users":
+                    options.users = Integer.parseInt(value);
+                    break;
+                case "members":
+                    options.members = Integer.parseInt(value);
+                    break;
+                case "activities":
+                    options.activities = Integer.parseInt(value);
+                    break;
+                case "capacity":
+                    options.capacity = Integer.parseInt(value);
+                    break;
+                case "max-in-flight":
+                    options.maxInFlight = Integer.parseInt(value);
+                    break;
+                case "timeout":
+                    options.timeout = parseDuration(value);
+                    break;
+                case "jwt-secret":
+                    options.jwtSecret = value;
+                    break;
+                case "result":
+                    options.result = Paths.get(value);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Option inconnue : --" + entry.getKey());
+            }
+        }
+        if (options.rate <= 0 || options.users < 1 || options.members < 1 || options.activities < 1) {
+            throw new IllegalArgumentException("rate, users, members et activities doivent être positifs");
+        }
+        if (options.jwtSecret == null || options.jwtSecret.isBlank()) {
+            if (!options.isLocalTopology()) {
+                throw new IllegalArgumentException("topology=external : clé JWT requise (JWT_SECRET ou --jwt-secret)");
+            }
+            options.jwtSecret = randomSecret();
+        }
+        return options;
+    }
+
+    // 32 octets aléatoires, encodés en base64 (clé HMAC de la gateway ou secret partagé)
+    static String randomSecret() {
+        byte[] bytes = new byte[32];
+        new SecureRandom().nextBytes(bytes);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    // 500ms, 30s, 5m, ou un nombre de secondes
+    static Duration parseDuration(String value) {
+        String v = value.trim();
+        if (v.endsWith("ms")) {
+            return Duration.ofMillis(Long.parseLong(v.substring(0, v.length() - 2)));
+        }
+        if (v.endsWith("s")) {
+            return Duration.ofSeconds(Long.parseLong(v.substring(0, v.length() - 1)));
+        }
+        if (v.endsWith("m")) {
+            return Duration.ofMinutes(Long.parseLong(v.substring(0, v.length() - 1)));
+        }
+        return Duration.ofSeconds(Long.parseLong(v));
+    }
+
+    public boolean isLocalTopology() { return "local".equals(topology); }
+    public Path getProjectDir() { return projectDir; }
+    public String getGatewayUrl() { return gatewayUrl; }
+    public String getThreads() { return threads; }
+    public double getRate() { return rate; }
+    public boolean isPoisson() { return poisson; }
+    public Duration getWarmup() { return warmup; }
+    public Duration getDuration() { return duration; }
+    public TrafficMix getMix() { return mix; }
+    public int getUsers() { return users; }
+    public int getMembers() { return members; }
+    public int getActivities() { return activities; }
+    public int getCapacity() { return capacity; }
+    public int getMaxInFlight() { return maxInFlight; }
+    public Duration getTimeout() { return timeout; }
+    public String getJwtSecret() { return jwtSecret; }
+    public Path getResult() { return result; }
+}
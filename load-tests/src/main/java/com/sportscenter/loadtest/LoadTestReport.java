@@ -0,0 +1,115 @@
+package com.sportscenter.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sportscenter.loadtest.TrafficMix.Route;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bilan par route : débit servi, p50 / p99 / p999 et répartition des statuts.
+ * Affiché en tableau, et exporté en JSON (comparaison entre deux builds).
+ */
+public class LoadTestReport {
+
+    private static final String ROW = "%-32s %8s %8s %9s %9s %9s %9s %7s %7s %7s %6s %6s%n";
+
+    private final LoadTestOptions options;
+    private final Map<Route, RouteStats> stats;
+    private final double seconds;
+
+    public LoadTestReport(LoadTestOptions options, Map<Route, RouteStats> stats) {
+        this.options = options;
+        this.stats = stats;
+        this.seconds = options.getDuration().toMillis() / 1000.0;
+    }
+
+    public void print(PrintStream out) {
+        out.printf("%nDébit offert : %.1f req/s (%s) pendant %d s, mix %s%s%n%n",
+                options.getRate(), options.isPoisson() ? "poisson" : "uniforme",
+                options.getDuration().getSeconds(), options.getMix().getWeights(),
+                options.isLocalTopology() ? ", threads " + options.getThreads() : "");
+        out.printf(ROW, "Route", "réponses", "req/s", "p50 ms", "p99 ms", "p999 ms", "max ms",
+                "2xx", "4xx", "5xx", "err", "drop");
+
+        Histogram total = new Histogram(3);
+        long[] totals = new long[5];
+        for (Route route : Route.values()) {
+            if (!options.getMix().getWeights().containsKey(route)) {
+                continue;
+            }
+            RouteStats s = stats.get(route);
+            total.add(s.getLatency());
+            totals[0] += s.countClass(2);
+            totals[1] += s.countClass(4);
+            totals[2] += s.countClass(5);
+            totals[3] += s.getErrors();
+            totals[4] += s.getDropped();
+            out.printf(ROW, route.getLabel(), s.completed(), format(s.completed() / seconds),
+                    format(s.percentileMillis(50)), format(s.percentileMillis(99)),
+                    format(s.percentileMillis(99.9)), format(s.maxMillis()),
+                    s.countClass(2), s.countClass(4), s.countClass(5), s.getErrors(), s.getDropped());
+        }
+        out.printf(ROW, "Total", total.getTotalCount(), format(total.getTotalCount() / seconds),
+                format(total.getValueAtPercentile(50) / 1000.0), format(total.getValueAtPercentile(99) / 1000.0),
+                format(total.getValueAtPercentile(99.9) / 1000.0), format(total.getMaxValue() / 1000.0),
+                totals[0], totals[1], totals[2], totals[3], totals[4]);
+
+        out.println();
+        for (Route route : Route.values()) {
+            RouteStats s = stats.get(route);
+            if (s.completed() > 0 || s.getSkipped() > 0) {
+                out.printf("%-32s statuts %s%s%n", route.getLabel(), s.getStatuses(),
+                        s.getSkipped() > 0 ? ", " + s.getSkipped() + " sans réservation à annuler" : "");
+            }
+        }
+    }
+
+    public void write(Path file, ObjectMapper mapper) throws IOException {
+        Map<String, Object> run = new LinkedHashMap<>();
+        run.put("rate", options.getRate());
+        run.put("arrivals", options.isPoisson() ? "poisson" : "uniform");
+        run.put("warmupSeconds", options.getWarmup().getSeconds());
+        run.put("durationSeconds", options.getDuration().getSeconds());
+        run.put("mix", options.getMix().getWeights());
+        run.put("users", options.getUsers());
+        if (options.isLocalTopology()) {
+            run.put("threads", options.getThreads());
+        }
+
+        Map<String, Object> routes = new LinkedHashMap<>();
+        for (Route route : Route.values()) {
+            RouteStats s = stats.get(route);
+            Map<String, Object> r = new LinkedHashMap<>();
+            r.put("completed", s.completed());
+            r.put("throughput", s.completed() / seconds);
+            r.put("p50Ms", s.percentileMillis(50));
+            r.put("p90Ms", s.percentileMillis(90));
+            r.put("p99Ms", s.percentileMillis(99));
+            r.put("p999Ms", s.percentileMillis(99.9));
+            r.put("maxMs", s.maxMillis());
+            r.put("statuses", s.getStatuses());
+            r.put("errors", s.getErrors());
+            r.put("dropped", s.getDropped());
+            r.put("skipped", s.getSkipped());
+            routes.put(route.getLabel(), r);
+        }
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("run", run);
+        result.put("routes", routes);
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        mapper.writerWithDefaultPrettyPrinter().writeValue(file.toFile(), result);
+    }
+
+    private static String format(double value) {
+        return String.format("%.1f", value);
+    }
+}
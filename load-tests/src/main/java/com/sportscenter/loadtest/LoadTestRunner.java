@@ -0,0 +1,64 @@
+package com.sportscenter.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.sportscenter.loadtest.TrafficMix.Route;
+
+import java.util.Map;
+
+/**
+ * Point d'entrée de load-tests.jar : rejoue un mix de trafic à travers l'api-gateway.
+ *
+ * <pre>
+ * mvn -DskipTests package                       # à la racine : jars de tous les modules
+ * cd load-tests
+ * java -jar target/load-tests.jar --rate=200 --duration=2m --mix=browse=50,book=40,cancel=5,dashboard=5
+ * JWT_SECRET=... java -jar target/load-tests.jar --topology=external --gateway=http://staging:8080 ...
+ * </pre>
+ *
+ * Threads virtuels contre threads Tomcat : même débit offert, deux exécutions à comparer
+ * (les processus lancés utilisent le java qui exécute load-tests.jar, JDK 21 pour virtual).
+ * <pre>
+ * java -jar target/load-tests.jar --rate=400 --threads=platform --result=target/platform.json
+ * java -jar target/load-tests.jar --rate=400 --threads=virtual --result=target/virtual.json
+ * </pre>
+ *
+ * Topologie local : eureka, gateway et services lancés en processus séparés (profil
+ * local, H2), arrêtés en fin de test. Résultat JSON dans target/load-test-result.json.
+ */
+public class LoadTestRunner {
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        ObjectMapper mapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        GatewayClient gateway = new GatewayClient(options, mapper);
+
+        LocalTopology topology = null;
+        try {
+            if (options.isLocalTopology()) {
+                topology = new LocalTopology(options.getProjectDir(), options.getThreads(), options.getJwtSecret());
+                topology.start();
+                topology.awaitRoutes(gateway);
+            }
+
+            System.out.printf("Chargement : %d membres, %d activités%n", options.getMembers(), options.getActivities());
+            TestData data = TestData.create(gateway, options);
+
+            System.out.printf("Charge : %.1f req/s, montée %d s, mesure %d s%n",
+                    options.getRate(), options.getWarmup().getSeconds(), options.getDuration().getSeconds());
+            Map<Route, RouteStats> stats = new OpenLoadGenerator(options, gateway, data, mapper).run();
+
+            LoadTestReport report = new LoadTestReport(options, stats);
+            report.print(System.out);
+            report.write(options.getResult(), mapper);
+            System.out.println("\nRésultat enregistré dans " + options.getResult());
+        } finally {
+            if (topology != null) {
+                topology.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package com.sportscenter.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Topologie complète sur la machine locale : un processus par module (jars construits
+ * par mvn package), services en profil local (H2 en mémoire, événements en http).
+ * Avec threads=virtual, les trois services exécutent leurs requêtes sur des threads virtuels.
+ * Clé JWT et secret gateway → services transmis par variables d'environnement (absents de la ligne de commande).
+ *
+ * Journaux de chaque processus dans target/load-test-logs/, traces gardées
+ * (lentes ou en erreur) dans target/load-test-logs/traces/.
+ */
+public class LocalTopology implements AutoCloseable {
+
+    private static final String VERSION = "1.0.0";
+    private static final Duration START_TIMEOUT = Duration.ofMinutes(3);
+
+    // ordre de démarrage : registre d'abord, gateway en dernier
+    private static final String[][] MODULES = {
+            {"eureka-server", "8761", "/eureka/apps"},
+            {"member-service", "8081", "/"},
+            {"activity-service", "8082", "/"},
+            {"booking-service", "8083", "/"},
+            {"api-gateway", "8080", "/actuator/health"},
+    };
+
+    // registre rafraîchi plus souvent qu'en production : routes disponibles en quelques secondes
+    private static final List<String> COMMON_ARGS = List.of(
+            "--spring.profiles.active=local",
+            "--eureka.client.registry-fetch-interval-seconds=5",
+            "--eureka.instance.lease-renewal-interval-in-seconds=5");
+
+    private static final List<String> SERVICES = List.of("member-service", "activity-service", "booking-service");
+
+    private final Path projectDir;
+    private final String threads;
+    private final String jwtSecret;
+    private final String gatewaySecret = LoadTestOptions.randomSecret();
+    private final Path logDir = Paths.get("target/load-test-logs");
+    private final HttpClient http = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(2))
+            .build();
+    private final List<Process> processes = new ArrayList<>();
+    private final Thread shutdownHook = new Thread(this::stopAll, "load-test-topology-shutdown");
+
+    public LocalTopology(Path projectDir, String threads, String jwtSecret) {
+        this.projectDir = projectDir;
+        this.threads = threads;
+        this.jwtSecret = jwtSecret;
+    }
+
+    public void start() throws IOException, InterruptedException {
+        Files.createDirectories(logDir);
+        Runtime.getRuntime().addShutdownHook(shutdownHook);
+
+        for (String[] module : MODULES) {
+            Path jar = jarOf(module[0]);
+            List<String> command = new ArrayList<>(List.of(javaBinary(), "-Xmx512m", "-jar", jar.toString()));
+            command.addAll(COMMON_ARGS);
+            command.add("--tracing.export.file=" + logDir.resolve("traces").resolve(module[0] + ".ndjson"));
+            if (SERVICES.contains(module[0])) {
+                command.add("--execution.threads=" + threads);
+            }
+
+            Path log = logDir.resolve(module[0] + ".log");
+            ProcessBuilder builder = new ProcessBuilder(command)
+                    .redirectErrorStream(true)
+                    .redirectOutput(log.toFile());
+            builder.environment().put("JWT_SECRET", jwtSecret);
+            builder.environment().put("GATEWAY_SHARED_SECRET", gatewaySecret);
+            Process process = builder.start();
+            processes.add(process);
+            System.out.printf("▶ %s (pid %d), journal : %s%n", module[0], process.pid(), log);
+
+            waitUntilUp(module[0], process, URI.create("http://localhost:" + module[1] + module[2]));
+        }
+    }
+
+    /**
+     * Attend que la gateway route effectivement vers les trois services (instances
+     * visibles dans son cache Eureka) : 200 sur une requête authentifiée par service.
+     */
+    public void awaitRoutes(GatewayClient gateway) throws InterruptedException {
+        long deadline = System.nanoTime() + START_TIMEOUT.toNanos();
+        for (String path : List.of("/api/members?limit=1", "/api/activities?limit=1", "/api/bookings")) {
+            while (true) {
+                int status = gateway.probe(path);
+                if (status == 200) {
+                    break;
+                }
+                if (System.nanoTime() > deadline) {
+                    throw new IllegalStateException("Route " + path + " indisponible (dernier statut " + status + ")");
+                }
+                TimeUnit.SECONDS.sleep(1);
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        stopAll();
+        try {
+            Runtime.getRuntime().removeShutdownHook(shutdownHook);
+        } catch (IllegalStateException e) {
+            // arrêt de la JVM déjà en cours : le hook s'en charge
+        }
+    }
+
+    // n'importe quelle réponse http suffit (401 compris) : le serveur écoute
+    private void waitUntilUp(String module, Process process, URI uri) throws InterruptedException {
+        long deadline = System.nanoTime() + START_TIMEOUT.toNanos();
+        HttpRequest request = HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(2)).GET().build();
+        while (System.nanoTime() < deadline) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException(module + " s'est arrêté au démarrage (code "
+                        + process.exitValue() + "), voir " + logDir.resolve(module + ".log"));
+            }
+            try {
+                http.send(request, HttpResponse.BodyHandlers.discarding());
+                return;
+            } catch (IOException e) {
+                TimeUnit.MILLISECONDS.sleep(500);
+            }
+        }
+        throw new IllegalStateException(module + " ne répond pas sur " + uri + " après " + START_TIMEOUT);
+    }
+
+    // un par un, gateway d'abord, registre en dernier (désinscriptions Eureka propres)
+    private synchronized void stopAll() {
+        List<Process> reversed = new ArrayList<>(processes);
+        Collections.reverse(reversed);
+        for (Process process : reversed) {
+            process.destroy();
+            try {
+                if (!process.waitFor(10, TimeUnit.SECONDS)) {
+                    process.destroyForcibly();
+                }
+            } catch (InterruptedException e) {
+                process.destroyForcibly();
+                Thread.currentThread().interrupt();
+            }
+        }
+        processes.clear();
+    }
+
+    // jar exécutable : classifier exec pour les services, jar repackagé tel quel pour eureka-server
+    private Path jarOf(String module) {
+        Path target = projectDir.resolve(module).resolve("target");
+        Path exec = target.resolve(module + "-" + VERSION + "-exec.jar");
+        if (Files.exists(exec)) {
+            return exec;
+        }
+        Path plain = target.resolve(module + "-" + VERSION + ".jar");
+        if (Files.exists(plain)) {
+            return plain;
+        }
+        throw new IllegalStateException("Jar introuvable pour " + module + " dans " + target
+                + " : lancer mvn -DskipTests package à la racine du projet");
+    }
+
+    private static String javaBinary() {
+        return Paths.get(System.getProperty("java.home"), "bin", "java").toString();
+    }
+}
@@ -0,0 +1,144 @@
+package com.sportscenter.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sportscenter.loadtest.TrafficMix.Route;
+
+import java.io.IOException;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Générateur en modèle ouvert : les arrivées suivent un calendrier fixé à l'avance
+ * (débit constant ou processus de Poisson), sans attendre les réponses. Un système
+ * qui ralentit accumule des requêtes en cours au lieu de recevoir moins de trafic,
+ * comme lors d'un pic réel de réservations.
+ *
+ * Un seul thread émet ; les réponses sont traitées par les threads du HttpClient.
+ */
+public class OpenLoadGenerator {
+
+    private final LoadTestOptions options;
+    private final GatewayClient gateway;
+    private final TestData data;
+    private final ObjectMapper mapper;
+
+    private final Map<Route, RouteStats> stats = new EnumMap<>(Route.class);
+    private final AtomicInteger inFlight = new AtomicInteger();
+    // réservations créées pendant le test, candidates aux annulations
+    private final BlockingQueue<Long> cancellable = new LinkedBlockingQueue<>(100_000);
+    private final SplittableRandom random = new SplittableRandom();
+
+    public OpenLoadGenerator(LoadTestOptions options, GatewayClient gateway, TestData data, ObjectMapper mapper) {
+        this.options = options;
+        this.gateway = gateway;
+        this.data = data;
+        this.mapper = mapper;
+        for (Route route : Route.values()) {
+            stats.put(route, new RouteStats());
+        }
+    }
+
+    public Map<Route, RouteStats> run() throws InterruptedException {
+        long meanIntervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / options.getRate());
+        long start = System.nanoTime();
+        long measureStart = start + options.getWarmup().toNanos();
+        long end = measureStart + options.getDuration().toNanos();
+
+        long next = start;
+        while (next < end) {
+            long wait = next - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+                continue;
+            }
+            dispatch(next, next >= measureStart);
+            next += options.isPoisson()
+                    ? (long) (-Math.log(1 - random.nextDouble()) * meanIntervalNanos)
+                    : meanIntervalNanos;
+        }
+
+        // réponses encore attendues : au plus le délai d'une requête
+        long drainDeadline = System.nanoTime() + options.getTimeout().toNanos() + TimeUnit.SECONDS.toNanos(1);
+        while (inFlight.get() > 0 && System.nanoTime() < drainDeadline) {
+            TimeUnit.MILLISECONDS.sleep(50);
+        }
+        return stats;
+    }
+
+    private void dispatch(long intendedNanos, boolean measured) {
+        Route route = options.getMix().pick(random.nextDouble());
+        RouteStats routeStats = stats.get(route);
+        if (inFlight.get() >= options.getMaxInFlight()) {
+            if (measured) {
+                routeStats.recordDropped();
+            }
+            return;
+        }
+
+        HttpRequest request = request(route);
+        if (request == null) {
+            if (measured) {
+                routeStats.recordSkipped();
+            }
+            return;
+        }
+
+        inFlight.incrementAndGet();
+        gateway.send(request).whenComplete((response, error) -> {
+            inFlight.decrementAndGet();
+            long latency = System.nanoTime() - intendedNanos;
+            if (error != null) {
+                if (measured) {
+                    routeStats.recordError(latency);
+                }
+                return;
+            }
+            if (measured) {
+                routeStats.recordResponse(latency, response.statusCode());
+            }
+            if (route == Route.BOOK && response.statusCode() / 100 == 2) {
+                rememberBooking(response);
+            }
+        });
+    }
+
+    private HttpRequest request(Route route) {
+        int user = random.nextInt(gateway.userCount());
+        switch (route) {
+            case BROWSE:
+                return gateway.browse(user, data.getEveningStart(), data.getEveningEnd());
+            case BOOK:
+                long[] members = data.getMemberIds();
+                long[] activities = data.getActivityIds();
+                return gateway.book(user, members[random.nextInt(members.length)],
+                        activities[random.nextInt(activities.length)]);
+            case CANCEL:
+                Long bookingId = cancellable.poll();
+                return bookingId != null ? gateway.cancel(user, bookingId) : null;
+            case DASHBOARD:
+                return gateway.dashboard(user);
+            default:
+                throw new IllegalStateException("Route non gérée : " + route);
+        }
+    }
+
+    private void rememberBooking(HttpResponse<String> response) {
+        try {
+            JsonNode booking = mapper.readTree(response.body());
+            if (booking.hasNonNull("id") && !"CANCELLED".equals(booking.path("status").asText())) {
+                cancellable.offer(booking.get("id").asLong());
+            }
+        } catch (IOException e) {
+            // corps illisible : réservation simplement pas candidate à l'annulation
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.sportscenter.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Mesures d'une route pendant la phase mesurée (hors montée en charge).
+ *
+ * Latence comptée depuis l'instant d'arrivée prévu, pas depuis l'envoi effectif :
+ * un générateur en retard ne masque pas l'attente (coordinated omission).
+ */
+public class RouteStats {
+
+    // 1 µs à 5 min, 3 chiffres significatifs
+    private static final long MAX_MICROS = TimeUnit.MINUTES.toMicros(5);
+
+    private final Histogram latency = new ConcurrentHistogram(MAX_MICROS, 3);
+    private final Map<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+    // délai dépassé, connexion refusée ou coupée : pas de statut http
+    private final LongAdder errors = new LongAdder();
+    // arrivée non envoyée : trop de requêtes en cours côté générateur
+    private final LongAdder dropped = new LongAdder();
+    // annulation sans réservation disponible à annuler
+    private final LongAdder skipped = new LongAdder();
+
+    public void recordResponse(long latencyNanos, int status) {
+        latency.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(latencyNanos), MAX_MICROS));
+        statuses.computeIfAbsent(status, s -> new LongAdder()).increment();
+    }
+
+    public void recordError(long latencyNanos) {
+        latency.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(latencyNanos), MAX_MICROS));
+        errors.increment();
+    }
+
+    public void recordDropped() {
+        dropped.increment();
+    }
+
+    public void recordSkipped() {
+        skipped.increment();
+    }
+
+    public long completed() {
+        return latency.getTotalCount();
+    }
+
+    public long countClass(int statusClass) {
+        long count = 0;
+        for (Map.Entry<Integer, LongAdder> entry : statuses.entrySet()) {
+            if (entry.getKey() / 100 == statusClass) {
+                count += entry.getValue().sum();
+            }
+        }
+        return count;
+    }
+
+    // ms, à partir de l'histogramme en µs
+    public double percentileMillis(double percentile) {
+        return latency.getValueAtPercentile(percentile) / 1000.0;
+    }
+
+    public double maxMillis() {
+        return latency.getMaxValue() / 1000.0;
+    }
+
+    public Map<Integer, Long> getStatuses() {
+        Map<Integer, Long> sorted = new TreeMap<>();
+        statuses.forEach((status, count) -> sorted.put(status, count.sum()));
+        return sorted;
+    }
+
+    public Histogram getLatency() { return latency; }
+    public long getErrors() { return errors.sum(); }
+    public long getDropped() { return dropped.sum(); }
+    public long getSkipped() { return skipped.sum(); }
+}
@@ -0,0 +1,78 @@
+package com.sportscenter.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.io.IOException;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Données créées avant la mesure, à travers la gateway : membres abonnés (ACTIVE) et
+ * activités du lundi soir suivant, de 18h à 22h, chacune avec son coach et sa salle
+ * (pas de conflit d'horaire à la création).
+ */
+public class TestData {
+
+    // créneaux d'une heure : 18h, 19h, 20h, 21h
+    private static final int SLOTS = 4;
+
+    private final long[] memberIds;
+    private final long[] activityIds;
+    private final LocalDateTime eveningStart;
+    private final LocalDateTime eveningEnd;
+
+    private TestData(long[] memberIds, long[] activityIds, LocalDateTime eveningStart) {
+        this.memberIds = memberIds;
+        this.activityIds = activityIds;
+        this.eveningStart = eveningStart;
+        this.eveningEnd = eveningStart.plusHours(SLOTS);
+    }
+
+    public static TestData create(GatewayClient gateway, LoadTestOptions options)
+            throws IOException, InterruptedException {
+        String run = Long.toString(System.currentTimeMillis(), 36);
+        LocalDateTime now = LocalDateTime.now().withNano(0);
+
+        long[] members = new long[options.getMembers()];
+        for (int i = 0; i < members.length; i++) {
+            Map<String, Object> member = new LinkedHashMap<>();
+            member.put("firstName", "Membre" + i);
+            member.put("lastName", "Charge");
+            member.put("email", "loadtest-" + run + "-" + i + "@example.test");
+            member.put("phone", String.format("06%08d", i));
+            member.put("subscriptionStatus", "ACTIVE");
+            member.put("subscriptionStartDate", now.toString());
+            member.put("subscriptionEndDate", now.plusMonths(1).toString());
+            members[i] = gateway.post(i, "/api/members", member, JsonNode.class).get("id").asLong();
+        }
+
+        LocalDateTime evening = LocalDate.now()
+                .with(TemporalAdjusters.next(DayOfWeek.MONDAY))
+                .atTime(LocalTime.of(18, 0));
+        long[] activities = new long[options.getActivities()];
+        for (int i = 0; i < activities.length; i++) {
+            LocalDateTime start = evening.plusHours(i % SLOTS);
+            Map<String, Object> activity = new LinkedHashMap<>();
+            activity.put("name", "Cours " + i);
+            activity.put("description", "Test de charge " + run);
+            activity.put("coach", "Coach " + run + "-" + i);
+            activity.put("room", "Salle " + run + "-" + i);
+            activity.put("maxCapacity", options.getCapacity());
+            activity.put("startTime", start.toString());
+            activity.put("endTime", start.plusHours(1).toString());
+            activities[i] = gateway.post(i, "/api/activities", activity, JsonNode.class).get("id").asLong();
+        }
+
+        return new TestData(members, activities, evening);
+    }
+
+    public long[] getMemberIds() { return memberIds; }
+    public long[] getActivityIds() { return activityIds; }
+    public LocalDateTime getEveningStart() { return eveningStart; }
+    public LocalDateTime getEveningEnd() { return eveningEnd; }
+}
@@ -0,0 +1,78 @@
+package com.sportscenter.loadtest;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Répartition des arrivées entre les routes, en poids relatifs :
+ * --mix=browse=60,book=25,cancel=10,dashboard=5
+ */
+public class TrafficMix {
+
+    public enum Route {
+        BROWSE("GET /api/activities?from&to"),
+        BOOK("POST /api/bookings"),
+        CANCEL("PUT /api/bookings/{id}/cancel"),
+        DASHBOARD("GET /api/dashboard");
+
+        private final String label;
+
+        Route(String label) {
+            this.label = label;
+        }
+
+        public String getLabel() { return label; }
+    }
+
+    private final Map<Route, Integer> weights;
+    private final Route[] routes;
+    private final int[] cumulative;
+    private final int total;
+
+    private TrafficMix(Map<Route, Integer> weights) {
+        this.weights = weights;
+        this.routes = weights.keySet().toArray(new Route[0]);
+        this.cumulative = new int[routes.length];
+        int sum = 0;
+        for (int i = 0; i < routes.length; i++) {
+            sum += weights.get(routes[i]);
+            cumulative[i] = sum;
+        }
+        this.total = sum;
+    }
+
+    public static TrafficMix parse(String spec) {
+        Map<Route, Integer> weights = new EnumMap<>(Route.class);
+        for (String part : spec.split(",")) {
+            String[] kv = part.trim().split("=");
+            if (kv.length != 2) {
+                throw new IllegalArgumentException("mix invalide (attendu route=poids) : " + part);
+            }
+            int weight = Integer.parseInt(kv[1].trim());
+            if (weight < 0) {
+                throw new IllegalArgumentException("poids négatif : " + part);
+            }
+            if (weight > 0) {
+                weights.put(Route.valueOf(kv[0].trim().toUpperCase(Locale.ROOT)), weight);
+            }
+        }
+        if (weights.isEmpty()) {
+            throw new IllegalArgumentException("mix vide : " + spec);
+        }
+        return new TrafficMix(weights);
+    }
+
+    // tirage pondéré, draw dans [0, 1)
+    public Route pick(double draw) {
+        int target = (int) (draw * total);
+        for (int i = 0; i < routes.length; i++) {
+            if (target < cumulative[i]) {
+                return routes[i];
+            }
+        }
+        return routes[routes.length - 1];
+    }
+
+    public Map<Route, Integer> getWeights() { return weights; }
+}
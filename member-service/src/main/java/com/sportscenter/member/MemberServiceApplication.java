@@ -2,9 +2,27 @@ package com.sportscenter.member;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
 import org.springframework.cloud.client.discovery.EnableDiscoveryClient;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
 
-@SpringBootApplication
+// module common : événements métier (outbox, transports), Idempotency-Key des POST, traces, threads virtuels
+@SpringBootApplication(scanBasePackages = {
+        "com.sportscenter.member",
+        "com.sportscenter.common.event",
+        "com.sportscenter.common.idempotency",
+        "com.sportscenter.common.tracing",
+        "com.sportscenter.common.execution"
+})
+@EntityScan(basePackages = {
+        "com.sportscenter.member",
+        "com.sportscenter.common.event",
+        "com.sportscenter.common.idempotency"
+})
+@EnableJpaRepositories(basePackages = {
+        "com.sportscenter.member",
+        "com.sportscenter.common.event"
+})
 @EnableDiscoveryClient
 public class MemberServiceApplication {
 
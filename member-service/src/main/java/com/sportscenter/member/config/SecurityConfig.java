@@ -1,13 +1,19 @@
 package com.sportscenter.member.config;
 
+import com.sportscenter.common.security.GatewayAuthenticationFilter;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.www.BasicAuthenticationFilter;
 
 @Configuration
 public class SecurityConfig {
 
+    @Value("${security.gateway.shared-secret}")
+    private String gatewaySecret;
+
     @Bean
     public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
 
@@ -15,8 +21,12 @@ public class SecurityConfig {
             .csrf().disable()
             .authorizeHttpRequests(auth -> auth
                 .antMatchers("/actuator/**").permitAll()
+                // appels entre services (événements) : compte httpBasic de service uniquement
+                .antMatchers("/internal/**").hasRole("SERVICE")
                 .anyRequest().authenticated()
             )
+            // identité transmise par l'api-gateway (JWT déjà vérifié)
+            .addFilterBefore(new GatewayAuthenticationFilter(gatewaySecret), BasicAuthenticationFilter.class)
             .httpBasic();
 
         return http.build();
@@ -1,24 +1,60 @@
 package com.sportscenter.member.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sportscenter.common.idempotency.IdempotencyService;
 import com.sportscenter.member.dto.MemberDTO;
+import com.sportscenter.member.dto.MemberImportEventDTO;
+import com.sportscenter.member.dto.MemberStatsDTO;
+import com.sportscenter.member.dto.MemberStatusDTO;
+import com.sportscenter.member.dto.SubscriptionExpiryReportDTO;
+import com.sportscenter.member.service.MemberImportService;
 import com.sportscenter.member.service.MemberService;
+import com.sportscenter.member.service.SubscriptionExpiryJob;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import javax.servlet.http.HttpServletRequest;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.util.List;
 
 @RestController
 @RequestMapping("/api/members")
 public class MemberController {
 
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 500;
+    private static final int MAX_BATCH_IDS = 1000;
+    private static final int MAX_STATUS_PAGE_SIZE = 10000;
+
     @Autowired
     private MemberService memberService;
 
+    @Autowired
+    private MemberImportService memberImportService;
+
+    @Autowired
+    private SubscriptionExpiryJob subscriptionExpiryJob;
+
+    @Autowired
+    private IdempotencyService idempotencyService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    // Idempotency-Key : un nouvel essai renvoie le membre déjà créé
     @PostMapping
-    public ResponseEntity<MemberDTO> createMember(@RequestBody MemberDTO dto) {
-        return ResponseEntity.status(HttpStatus.CREATED).body(memberService.createMember(dto));
+    public ResponseEntity<MemberDTO> createMember(
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey,
+            @RequestBody MemberDTO dto) {
+        return idempotencyService.execute("POST /api/members", idempotencyKey, dto, MemberDTO.class,
+                () -> ResponseEntity.status(HttpStatus.CREATED).body(memberService.createMember(dto)));
     }
 
     @GetMapping("/{id}")
@@ -27,8 +63,89 @@ public class MemberController {
     }
 
     @GetMapping
-    public ResponseEntity<List<MemberDTO>> getAllMembers() {
-        return ResponseEntity.ok(memberService.getAllMembers());
+    public ResponseEntity<List<MemberDTO>> getAllMembers(
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false) Integer limit) {
+        // sans curseur ni limite : liste complète (compatibilité front)
+        if (after == null && limit == null) {
+            return ResponseEntity.ok(memberService.getAllMembers());
+        }
+
+        int size = limit == null ? DEFAULT_PAGE_SIZE : Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+        List<MemberDTO> page = memberService.getMembersPage(after, size);
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.size() == size) {
+            response.header("X-Next-Cursor", String.valueOf(page.get(size - 1).getId()));
+        }
+        return response.body(page);
+    }
+
+    // recherche groupée : GET /api/members?ids=1,2,3
+    @GetMapping(params = "ids")
+    public ResponseEntity<List<MemberDTO>> getMembersByIds(@RequestParam List<Long> ids) {
+        if (ids.size() > MAX_BATCH_IDS) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(memberService.getMembersByIds(ids));
+    }
+
+    // instantané des statuts d'abonnement par curseur (id croissant), pour les projections
+    // locales des autres services ; X-Next-Cursor absent sur la dernière page
+    @GetMapping("/statuses")
+    public ResponseEntity<List<MemberStatusDTO>> getStatuses(
+            @RequestParam(required = false) Long after,
+            @RequestParam(defaultValue = "5000") int limit) {
+        int size = Math.min(Math.max(limit, 1), MAX_STATUS_PAGE_SIZE);
+        List<MemberStatusDTO> page = memberService.getStatusesPage(after, size);
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.size() == size) {
+            response.header("X-Next-Cursor", String.valueOf(page.get(size - 1).getId()));
+        }
+        return response.body(page);
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamMembers() {
+        StreamingResponseBody body = out -> memberService.streamAllMembers(dto -> writeLine(out, dto));
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    // import en masse : CSV (email,firstName,lastName,phone) ou NDJSON (un MemberDTO par ligne) ;
+    // la réponse NDJSON donne les erreurs par ligne, la progression par lot puis le bilan
+    @PostMapping(value = "/import",
+            consumes = {"text/csv", MediaType.APPLICATION_NDJSON_VALUE},
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> importMembers(HttpServletRequest request) throws IOException {
+        String format = request.getContentType().startsWith("text/csv")
+                ? MemberImportService.FORMAT_CSV
+                : MemberImportService.FORMAT_NDJSON;
+        InputStream in = request.getInputStream();
+
+        StreamingResponseBody body = out -> memberImportService.importMembers(in, format, event -> {
+            writeLine(out, event);
+            if (!MemberImportEventDTO.ERROR.equals(event.getType())) {
+                flush(out);
+            }
+        });
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    @GetMapping("/stats")
+    public ResponseEntity<MemberStatsDTO> getStats() {
+        return ResponseEntity.ok(memberService.getStats());
+    }
+
+    // bilan de la dernière expiration exécutée par cette instance (204 si aucune)
+    @GetMapping("/subscription-expiry/last-run")
+    public ResponseEntity<SubscriptionExpiryReportDTO> getSubscriptionExpiryLastRun() {
+        SubscriptionExpiryReportDTO report = subscriptionExpiryJob.getLastRun();
+        return report != null ? ResponseEntity.ok(report) : ResponseEntity.noContent().build();
     }
 
     @PutMapping("/{id}")
@@ -42,4 +159,22 @@ public class MemberController {
         return ResponseEntity.noContent().build();
     }
 
+    // une ligne JSON par élément (NDJSON)
+    private void writeLine(OutputStream out, Object dto) {
+        try {
+            out.write(objectMapper.writeValueAsBytes(dto));
+            out.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void flush(OutputStream out) {
+        try {
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
 }
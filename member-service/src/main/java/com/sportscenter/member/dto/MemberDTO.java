@@ -1,5 +1,7 @@
 package com.sportscenter.member.dto;
 
+import java.time.LocalDateTime;
+
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -47,7 +49,21 @@ public class MemberDTO {
 	public void setSubscriptionStatus(String subscriptionStatus) {
 		this.subscriptionStatus = subscriptionStatus;
 	}
+	public LocalDateTime getSubscriptionStartDate() {
+		return subscriptionStartDate;
+	}
+	public void setSubscriptionStartDate(LocalDateTime subscriptionStartDate) {
+		this.subscriptionStartDate = subscriptionStartDate;
+	}
+	public LocalDateTime getSubscriptionEndDate() {
+		return subscriptionEndDate;
+	}
+	public void setSubscriptionEndDate(LocalDateTime subscriptionEndDate) {
+		this.subscriptionEndDate = subscriptionEndDate;
+	}
 	private String lastName;
     private String phone;
     private String subscriptionStatus;
+    private LocalDateTime subscriptionStartDate;
+    private LocalDateTime subscriptionEndDate;
 }
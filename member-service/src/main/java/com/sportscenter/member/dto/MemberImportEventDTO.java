@@ -0,0 +1,59 @@
+package com.sportscenter.member.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+// une ligne du rapport d'import (NDJSON) : erreur de ligne, progression ou bilan final
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class MemberImportEventDTO {
+
+    public static final String ERROR = "error";
+    public static final String PROGRESS = "progress";
+    public static final String SUMMARY = "summary";
+
+    private String type;
+    private Long line;
+    private String email;
+    private String message;
+    private Long processed;
+    private Long imported;
+    private Long rejected;
+
+    public static MemberImportEventDTO error(long line, String email, String message) {
+        MemberImportEventDTO event = new MemberImportEventDTO();
+        event.setType(ERROR);
+        event.setLine(line);
+        event.setEmail(email);
+        event.setMessage(message);
+        return event;
+    }
+
+    public static MemberImportEventDTO counters(String type, long processed, long imported, long rejected) {
+        MemberImportEventDTO event = new MemberImportEventDTO();
+        event.setType(type);
+        event.setProcessed(processed);
+        event.setImported(imported);
+        event.setRejected(rejected);
+        return event;
+    }
+
+    public String getType() { return type; }
+    public void setType(String type) { this.type = type; }
+
+    public Long getLine() { return line; }
+    public void setLine(Long line) { this.line = line; }
+
+    public String getEmail() { return email; }
+    public void setEmail(String email) { this.email = email; }
+
+    public String getMessage() { return message; }
+    public void setMessage(String message) { this.message = message; }
+
+    public Long getProcessed() { return processed; }
+    public void setProcessed(Long processed) { this.processed = processed; }
+
+    public Long getImported() { return imported; }
+    public void setImported(Long imported) { this.imported = imported; }
+
+    public Long getRejected() { return rejected; }
+    public void setRejected(Long rejected) { this.rejected = rejected; }
+}
@@ -0,0 +1,15 @@
+package com.sportscenter.member.dto;
+
+import java.util.Map;
+
+public class MemberStatsDTO {
+
+    private long total;
+    private Map<String, Long> bySubscriptionStatus;
+
+    public long getTotal() { return total; }
+    public void setTotal(long total) { this.total = total; }
+
+    public Map<String, Long> getBySubscriptionStatus() { return bySubscriptionStatus; }
+    public void setBySubscriptionStatus(Map<String, Long> bySubscriptionStatus) { this.bySubscriptionStatus = bySubscriptionStatus; }
+}
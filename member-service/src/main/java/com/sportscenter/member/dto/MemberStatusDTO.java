@@ -0,0 +1,22 @@
+package com.sportscenter.member.dto;
+
+// statut d'abonnement seul : instantané lu par booking-service au démarrage
+public class MemberStatusDTO {
+
+    private Long id;
+    private String status;
+
+    public MemberStatusDTO() {
+    }
+
+    public MemberStatusDTO(Long id, String status) {
+        this.id = id;
+        this.status = status;
+    }
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+}
@@ -0,0 +1,28 @@
+package com.sportscenter.member.dto;
+
+import java.time.LocalDateTime;
+
+// bilan d'une exécution de l'expiration des abonnements
+public class SubscriptionExpiryReportDTO {
+
+    private LocalDateTime startedAt;
+    private long durationMs;
+    private int processed;
+    private int chunks;
+    private String instance;
+
+    public LocalDateTime getStartedAt() { return startedAt; }
+    public void setStartedAt(LocalDateTime startedAt) { this.startedAt = startedAt; }
+
+    public long getDurationMs() { return durationMs; }
+    public void setDurationMs(long durationMs) { this.durationMs = durationMs; }
+
+    public int getProcessed() { return processed; }
+    public void setProcessed(int processed) { this.processed = processed; }
+
+    public int getChunks() { return chunks; }
+    public void setChunks(int chunks) { this.chunks = chunks; }
+
+    public String getInstance() { return instance; }
+    public void setInstance(String instance) { this.instance = instance; }
+}
@@ -8,7 +8,10 @@ import javax.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "members")
+// expiration des abonnements : WHERE subscription_status = 'ACTIVE' AND subscription_end_date <= ?
+@Table(name = "members", indexes = {
+        @Index(name = "idx_members_subscription_end", columnList = "subscription_status, subscription_end_date")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -110,7 +113,9 @@ public class Member {
     @Column(nullable = false)
     private String phone;
 
+    // nom explicite : référencé par l'index idx_members_subscription_end
     @Enumerated(EnumType.STRING)
+    @Column(name = "subscription_status")
     private SubscriptionStatus subscriptionStatus;
 
     @Column(name = "subscription_start_date")
@@ -129,7 +134,10 @@ public class Member {
     protected void onCreate() {
         createdAt = LocalDateTime.now();
         updatedAt = LocalDateTime.now();
-        subscriptionStatus = SubscriptionStatus.INACTIVE;
+        // statut fourni à la création (import, abonnement déjà payé) conservé
+        if (subscriptionStatus == null) {
+            subscriptionStatus = SubscriptionStatus.INACTIVE;
+        }
     }
 
     @PreUpdate
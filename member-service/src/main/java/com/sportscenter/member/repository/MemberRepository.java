@@ -1,12 +1,51 @@
 package com.sportscenter.member.repository;
 
 import com.sportscenter.member.entity.Member;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface MemberRepository extends JpaRepository<Member, Long> {
     Optional<Member> findByEmail(String email);
+
+    // équivalent groupé de findByEmail pour l'import : emails déjà présents parmi ceux du lot
+    @Query("SELECT m.email FROM Member m WHERE m.email IN :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+    // le statut est revérifié : un membre réactivé entre-temps n'est pas expiré
+    @Modifying
+    @Query("UPDATE Member m SET m.subscriptionStatus = com.sportscenter.member.entity.SubscriptionStatus.INACTIVE, "
+            + "m.updatedAt = :now WHERE m.id IN :ids "
+            + "AND m.subscriptionStatus = com.sportscenter.member.entity.SubscriptionStatus.ACTIVE")
+    int expireSubscriptions(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+
+    @Query("SELECT m.subscriptionStatus, COUNT(m) FROM Member m GROUP BY m.subscriptionStatus")
+    List<Object[]> countBySubscriptionStatus();
+
+    // pagination par curseur (keyset) : WHERE id > :after ORDER BY id LIMIT :limit
+    List<Member> findByIdGreaterThanOrderByIdAsc(Long after, Pageable pageable);
+
+    // instantané des statuts : deux colonnes, parcours par clé primaire
+    @Query("SELECT m.id, m.subscriptionStatus FROM Member m WHERE m.id > :after ORDER BY m.id")
+    List<Object[]> findStatusesAfter(@Param("after") Long after, Pageable pageable);
+
+    // Integer.MIN_VALUE = lecture ligne par ligne côté MySQL Connector/J
+    @QueryHints({
+            @QueryHint(name = org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE),
+            @QueryHint(name = org.hibernate.jpa.QueryHints.HINT_READONLY, value = "true")
+    })
+    @Query("SELECT m FROM Member m ORDER BY m.id")
+    Stream<Member> streamAll();
 }
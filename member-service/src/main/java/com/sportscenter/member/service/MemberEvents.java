@@ -0,0 +1,28 @@
+package com.sportscenter.member.service;
+
+import com.sportscenter.common.event.DomainEvent;
+import com.sportscenter.common.event.OutboxService;
+import com.sportscenter.member.entity.SubscriptionStatus;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// événements de l'outbox pour un membre
+final class MemberEvents {
+
+    static final String AGGREGATE = "Member";
+
+    private MemberEvents() {
+    }
+
+    static OutboxService.Entry subscriptionChanged(Long memberId, SubscriptionStatus previous,
+                                                   SubscriptionStatus status, LocalDateTime endDate) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("memberId", memberId);
+        payload.put("previousStatus", previous != null ? previous.name() : null);
+        payload.put("status", status.name());
+        payload.put("subscriptionEndDate", endDate);
+        return new OutboxService.Entry(DomainEvent.MEMBER_SUBSCRIPTION_CHANGED, AGGREGATE, memberId, payload);
+    }
+}
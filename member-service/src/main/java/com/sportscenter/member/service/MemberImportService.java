@@ -0,0 +1,272 @@
+package com.sportscenter.member.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sportscenter.member.dto.MemberDTO;
+import com.sportscenter.member.dto.MemberImportEventDTO;
+import com.sportscenter.member.entity.SubscriptionStatus;
+import com.sportscenter.member.repository.MemberRepository;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Import en masse de membres (CSV ou NDJSON) lu ligne par ligne.
+ *
+ * Les lignes valides sont regroupées par lots : un seul SELECT ... IN pour écarter les
+ * emails déjà en base, puis un INSERT JDBC en batch (réécrit en INSERT multi-lignes par
+ * Connector/J avec rewriteBatchedStatements). Chaque lot est une transaction : une
+ * erreur n'annule pas les lots précédents.
+ */
+@Service
+public class MemberImportService {
+
+    public static final String FORMAT_CSV = "csv";
+    public static final String FORMAT_NDJSON = "ndjson";
+
+    private static final int BATCH_SIZE = 1000;
+
+    private static final String INSERT_SQL = "INSERT INTO members "
+            + "(email, first_name, last_name, phone, subscription_status, created_at, updated_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private final MemberRepository memberRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+
+    public MemberImportService(MemberRepository memberRepository,
+                               JdbcTemplate jdbcTemplate,
+                               TransactionTemplate transactionTemplate,
+                               ObjectMapper objectMapper) {
+        this.memberRepository = memberRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * @param events reçoit les erreurs de ligne, une progression par lot et le bilan final
+     */
+    public void importMembers(InputStream in, String format, Consumer<MemberImportEventDTO> events) throws IOException {
+        ImportRun run = new ImportRun(events);
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+
+        String line;
+        long lineNumber = 0;
+        boolean csvHeader = FORMAT_CSV.equals(format);
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            // première ligne CSV = en-tête (email,firstName,lastName,phone)
+            if (csvHeader) {
+                csvHeader = false;
+                if (line.toLowerCase(Locale.ROOT).startsWith("email")) {
+                    continue;
+                }
+            }
+
+            run.processed++;
+            Row row;
+            try {
+                row = FORMAT_CSV.equals(format) ? parseCsv(lineNumber, line) : parseJson(lineNumber, line);
+            } catch (IllegalArgumentException | JsonProcessingException e) {
+                run.reject(lineNumber, null, "Ligne illisible : " + e.getMessage());
+                continue;
+            }
+
+            String error = validate(row);
+            if (error != null) {
+                run.reject(lineNumber, row.email, error);
+            } else if (!run.seenEmails.add(row.email)) {
+                run.reject(lineNumber, row.email, "Email en double dans le fichier");
+            } else {
+                run.pending.add(row);
+                if (run.pending.size() >= BATCH_SIZE) {
+                    flush(run);
+                }
+            }
+        }
+        flush(run);
+
+        events.accept(MemberImportEventDTO.counters(
+                MemberImportEventDTO.SUMMARY, run.processed, run.imported, run.rejected));
+    }
+
+    private void flush(ImportRun run) {
+        if (run.pending.isEmpty()) {
+            return;
+        }
+        List<Row> batch = new ArrayList<>(run.pending);
+        run.pending.clear();
+
+        Set<String> existing = new HashSet<>();
+        for (String email : memberRepository.findExistingEmails(emailsOf(batch))) {
+            existing.add(email.toLowerCase(Locale.ROOT));
+        }
+
+        List<Row> toInsert = new ArrayList<>(batch.size());
+        for (Row row : batch) {
+            if (existing.contains(row.email)) {
+                run.reject(row.line, row.email, "Email déjà utilisé");
+            } else {
+                toInsert.add(row);
+            }
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> insert(toInsert));
+            run.imported += toInsert.size();
+        } catch (DataAccessException e) {
+            // lot refusé (ex. email inséré entre-temps) : ligne par ligne pour isoler la fautive
+            for (Row row : toInsert) {
+                try {
+                    insert(List.of(row));
+                    run.imported++;
+                } catch (DataAccessException rowError) {
+                    run.reject(row.line, row.email, "Insertion refusée : " + rowError.getMostSpecificCause().getMessage());
+                }
+            }
+        }
+
+        run.events.accept(MemberImportEventDTO.counters(
+                MemberImportEventDTO.PROGRESS, run.processed, run.imported, run.rejected));
+    }
+
+    private void insert(List<Row> rows) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT_SQL, rows, rows.size(), (ps, row) -> {
+            ps.setString(1, row.email);
+            ps.setString(2, row.firstName);
+            ps.setString(3, row.lastName);
+            ps.setString(4, row.phone != null ? row.phone : "");
+            // même valeur initiale que Member.onCreate()
+            ps.setString(5, SubscriptionStatus.INACTIVE.name());
+            ps.setTimestamp(6, now);
+            ps.setTimestamp(7, now);
+        });
+    }
+
+    private static List<String> emailsOf(List<Row> rows) {
+        List<String> emails = new ArrayList<>(rows.size());
+        for (Row row : rows) {
+            emails.add(row.email);
+        }
+        return emails;
+    }
+
+    private static String validate(Row row) {
+        if (row.email == null || row.email.isEmpty()) {
+            return "Email obligatoire";
+        }
+        int at = row.email.indexOf('@');
+        if (at <= 0 || at == row.email.length() - 1 || row.email.indexOf('@', at + 1) >= 0) {
+            return "Email invalide";
+        }
+        if (row.firstName == null || row.firstName.isEmpty()) {
+            return "Prénom obligatoire";
+        }
+        if (row.lastName == null || row.lastName.isEmpty()) {
+            return "Nom obligatoire";
+        }
+        return null;
+    }
+
+    private Row parseJson(long lineNumber, String line) throws JsonProcessingException {
+        MemberDTO dto = objectMapper.readValue(line, MemberDTO.class);
+        return new Row(lineNumber, dto.getEmail(), dto.getFirstName(), dto.getLastName(), dto.getPhone());
+    }
+
+    // email,firstName,lastName,phone — champs éventuellement entre guillemets ("" = guillemet)
+    private static Row parseCsv(long lineNumber, String line) {
+        List<String> fields = new ArrayList<>(4);
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("guillemet non fermé");
+        }
+        fields.add(field.toString());
+        if (fields.size() < 3) {
+            throw new IllegalArgumentException("3 colonnes minimum (email,firstName,lastName[,phone])");
+        }
+        return new Row(lineNumber, fields.get(0), fields.get(1), fields.get(2), fields.size() > 3 ? fields.get(3) : null);
+    }
+
+    private static String clean(String value) {
+        return value != null ? value.trim() : null;
+    }
+
+    private static final class Row {
+
+        final long line;
+        final String email;
+        final String firstName;
+        final String lastName;
+        final String phone;
+
+        Row(long line, String email, String firstName, String lastName, String phone) {
+            this.line = line;
+            this.email = email != null ? email.trim().toLowerCase(Locale.ROOT) : null;
+            this.firstName = clean(firstName);
+            this.lastName = clean(lastName);
+            this.phone = clean(phone);
+        }
+    }
+
+    // état d'un import : seuls les emails (pour le dédoublonnage) et le lot courant restent en mémoire
+    private static final class ImportRun {
+
+        final Consumer<MemberImportEventDTO> events;
+        final Set<String> seenEmails = new HashSet<>();
+        final List<Row> pending = new ArrayList<>(BATCH_SIZE);
+        long processed;
+        long imported;
+        long rejected;
+
+        ImportRun(Consumer<MemberImportEventDTO> events) {
+            this.events = events;
+        }
+
+        void reject(long line, String email, String message) {
+            rejected++;
+            events.accept(MemberImportEventDTO.error(line, email, message));
+        }
+    }
+}
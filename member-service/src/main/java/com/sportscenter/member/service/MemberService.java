@@ -1,28 +1,60 @@
 package com.sportscenter.member.service;
 
+import com.sportscenter.common.event.OutboxService;
 import com.sportscenter.member.dto.MemberDTO;
+import com.sportscenter.member.dto.MemberStatsDTO;
+import com.sportscenter.member.dto.MemberStatusDTO;
 import com.sportscenter.member.entity.Member;
+import com.sportscenter.member.entity.SubscriptionStatus;
 import com.sportscenter.member.repository.MemberRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
 
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class MemberService {
 
+    // taille max d'une clause IN envoyée à MySQL
+    private static final int IN_CLAUSE_CHUNK = 500;
+
     @Autowired
     private MemberRepository memberRepository;
 
+    @Autowired
+    private OutboxService outboxService;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Transactional
     public MemberDTO createMember(MemberDTO dto) {
         Member member = new Member();
         member.setEmail(dto.getEmail());
         member.setFirstName(dto.getFirstName());
         member.setLastName(dto.getLastName());
         member.setPhone(dto.getPhone());
+        applySubscription(member, dto);
 
         Member saved = memberRepository.save(member);
+        if (saved.getSubscriptionStatus() != SubscriptionStatus.INACTIVE) {
+            outboxService.record(MemberEvents.subscriptionChanged(
+                    saved.getId(), null, saved.getSubscriptionStatus(), saved.getSubscriptionEndDate()));
+        }
         return convertToDTO(saved);
     }
 
@@ -39,6 +71,71 @@ public class MemberService {
                 .collect(Collectors.toList());
     }
 
+    // un seul SELECT ... IN par lot de IN_CLAUSE_CHUNK identifiants, doublons retirés
+    public List<MemberDTO> getMembersByIds(Collection<Long> ids) {
+        List<Long> distinctIds = new ArrayList<>(new LinkedHashSet<>(ids));
+        List<MemberDTO> result = new ArrayList<>(distinctIds.size());
+        for (int from = 0; from < distinctIds.size(); from += IN_CLAUSE_CHUNK) {
+            List<Long> chunk = distinctIds.subList(from, Math.min(from + IN_CLAUSE_CHUNK, distinctIds.size()));
+            for (Member member : memberRepository.findAllById(chunk)) {
+                result.add(convertToDTO(member));
+            }
+        }
+        return result;
+    }
+
+    public List<MemberDTO> getMembersPage(Long after, int limit) {
+        return memberRepository.findByIdGreaterThanOrderByIdAsc(after != null ? after : 0L, PageRequest.of(0, limit))
+                .stream()
+                .map(this::convertToDTO)
+                .collect(Collectors.toList());
+    }
+
+    public List<MemberStatusDTO> getStatusesPage(Long after, int limit) {
+        List<MemberStatusDTO> page = new ArrayList<>(limit);
+        for (Object[] row : memberRepository.findStatusesAfter(after != null ? after : 0L, PageRequest.of(0, limit))) {
+            SubscriptionStatus status = (SubscriptionStatus) row[1];
+            page.add(new MemberStatusDTO((Long) row[0], status != null ? status.name() : null));
+        }
+        return page;
+    }
+
+    // le flux JDBC reste ouvert dans la transaction ; chaque entité est détachée
+    // après écriture pour que le contexte de persistance ne grossisse pas
+    @Transactional(readOnly = true)
+    public void streamAllMembers(Consumer<MemberDTO> consumer) {
+        try (Stream<Member> members = memberRepository.streamAll()) {
+            members.forEach(member -> {
+                consumer.accept(convertToDTO(member));
+                entityManager.detach(member);
+            });
+        }
+    }
+
+    // compteurs agrégés côté base (GROUP BY) : taille constante quel que soit le nb de membres
+    public MemberStatsDTO getStats() {
+        Map<String, Long> byStatus = new LinkedHashMap<>();
+        for (SubscriptionStatus status : SubscriptionStatus.values()) {
+            byStatus.put(status.name(), 0L);
+        }
+
+        long total = 0;
+        for (Object[] row : memberRepository.countBySubscriptionStatus()) {
+            long count = ((Number) row[1]).longValue();
+            total += count;
+            if (row[0] != null) {
+                byStatus.put(((SubscriptionStatus) row[0]).name(), count);
+            }
+        }
+
+        MemberStatsDTO stats = new MemberStatsDTO();
+        stats.setTotal(total);
+        stats.setBySubscriptionStatus(byStatus);
+        return stats;
+    }
+
+    // changement de statut d'abonnement publié (MemberSubscriptionChanged) dans la même transaction
+    @Transactional
     public MemberDTO updateMember(Long id, MemberDTO dto) {
         Member member = memberRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Membre non trouvé: " + id));
@@ -47,10 +144,38 @@ public class MemberService {
         member.setLastName(dto.getLastName());
         member.setPhone(dto.getPhone());
 
+        SubscriptionStatus previous = member.getSubscriptionStatus();
+        applySubscription(member, dto);
+
         Member updated = memberRepository.save(member);
+        if (updated.getSubscriptionStatus() != previous) {
+            outboxService.record(MemberEvents.subscriptionChanged(
+                    updated.getId(), previous, updated.getSubscriptionStatus(), updated.getSubscriptionEndDate()));
+        }
         return convertToDTO(updated);
     }
 
+    // champs d'abonnement fournis seulement (null = inchangé)
+    private void applySubscription(Member member, MemberDTO dto) {
+        if (dto.getSubscriptionStatus() != null) {
+            member.setSubscriptionStatus(parseStatus(dto.getSubscriptionStatus()));
+        }
+        if (dto.getSubscriptionStartDate() != null) {
+            member.setSubscriptionStartDate(dto.getSubscriptionStartDate());
+        }
+        if (dto.getSubscriptionEndDate() != null) {
+            member.setSubscriptionEndDate(dto.getSubscriptionEndDate());
+        }
+    }
+
+    private SubscriptionStatus parseStatus(String value) {
+        try {
+            return SubscriptionStatus.valueOf(value);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Statut d'abonnement inconnu : " + value);
+        }
+    }
+
     public void deleteMember(Long id) {
         memberRepository.deleteById(id);
     }
@@ -63,6 +188,8 @@ public class MemberService {
         dto.setLastName(member.getLastName());
         dto.setPhone(member.getPhone());
         dto.setSubscriptionStatus(member.getSubscriptionStatus().toString());
+        dto.setSubscriptionStartDate(member.getSubscriptionStartDate());
+        dto.setSubscriptionEndDate(member.getSubscriptionEndDate());
         return dto;
     }
 
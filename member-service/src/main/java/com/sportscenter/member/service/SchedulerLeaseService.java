@@ -0,0 +1,66 @@
+package com.sportscenter.member.service;
+
+import com.sportscenter.member.entity.SchedulerLease;
+import com.sportscenter.member.repository.SchedulerLeaseRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Baux en base pour les tâches planifiées : quand member-service tourne en plusieurs
+ * instances, une seule exécute la tâche. Un bail non rendu (instance arrêtée) expire seul.
+ */
+@Service
+public class SchedulerLeaseService {
+
+    private final SchedulerLeaseRepository leaseRepository;
+    private final String owner;
+
+    public SchedulerLeaseService(SchedulerLeaseRepository leaseRepository,
+                                 @Value("${spring.application.name}") String applicationName) {
+        this.leaseRepository = leaseRepository;
+        this.owner = applicationName + "@" + hostName() + "/" + UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    public boolean tryAcquire(String name, Duration duration) {
+        LocalDateTime now = LocalDateTime.now();
+        if (!leaseRepository.existsById(name)) {
+            createLease(name, now);
+        }
+        return leaseRepository.tryAcquire(name, owner, now, now.plus(duration)) == 1;
+    }
+
+    public void release(String name) {
+        leaseRepository.release(name, owner, LocalDateTime.now());
+    }
+
+    public String getOwner() {
+        return owner;
+    }
+
+    // première exécution : deux instances peuvent créer la ligne en même temps, une seule insertion passe
+    private void createLease(String name, LocalDateTime now) {
+        SchedulerLease lease = new SchedulerLease();
+        lease.setName(name);
+        lease.setLockedUntil(now.minusSeconds(1));
+        try {
+            leaseRepository.saveAndFlush(lease);
+        } catch (DataIntegrityViolationException e) {
+            // créée par une autre instance
+        }
+    }
+
+    private static String hostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            return "unknown";
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.sportscenter.member.service;
+
+import com.sportscenter.common.event.OutboxService;
+import com.sportscenter.member.dto.SubscriptionExpiryReportDTO;
+import com.sportscenter.member.entity.SubscriptionStatus;
+import com.sportscenter.member.repository.MemberRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * ⏰ Passe en INACTIVE les abonnements ACTIVE dont la date de fin est dépassée.
+ *
+ * - une seule instance à la fois (bail en base, voir {@link SchedulerLeaseService}) ;
+ * - lots lus par l'index (subscription_status, subscription_end_date) puis un UPDATE
+ *   groupé par lot, chacun dans sa transaction avec ses événements MemberSubscriptionChanged ;
+ * - tant qu'un lot est complet, le suivant est traité sans attendre le prochain tour,
+ *   après prolongation du bail (arrêt si une autre instance l'a repris).
+ */
+@Component
+public class SubscriptionExpiryJob {
+
+    private static final Logger log = LoggerFactory.getLogger(SubscriptionExpiryJob.class);
+
+    static final String LEASE = "subscription-expiry";
+
+    // lignes verrouillées jusqu'à la fin du lot : un updateMember concurrent attend
+    private static final String SELECT_EXPIRED =
+            "SELECT id, subscription_end_date FROM members "
+                    + "WHERE subscription_status = 'ACTIVE' AND subscription_end_date <= ? "
+                    + "ORDER BY subscription_end_date, id LIMIT ? FOR UPDATE";
+
+    private final MemberRepository memberRepository;
+    private final OutboxService outboxService;
+    private final SchedulerLeaseService leaseService;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    private final Duration leaseDuration;
+
+    private volatile SubscriptionExpiryReportDTO lastRun;
+
+    public SubscriptionExpiryJob(MemberRepository memberRepository,
+                                 OutboxService outboxService,
+                                 SchedulerLeaseService leaseService,
+                                 JdbcTemplate jdbcTemplate,
+                                 TransactionTemplate transactionTemplate,
+                                 @Value("${members.subscription-expiry.chunk-size:500}") int chunkSize,
+                                 @Value("${members.subscription-expiry.lease:5m}") Duration leaseDuration) {
+        this.memberRepository = memberRepository;
+        this.outboxService = outboxService;
+        this.leaseService = leaseService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.chunkSize = chunkSize;
+        this.leaseDuration = leaseDuration;
+    }
+
+    @Scheduled(fixedDelayString = "${members.subscription-expiry.interval:60000}",
+            initialDelayString = "${members.subscription-expiry.initial-delay:30000}")
+    public void run() {
+        if (!leaseService.tryAcquire(LEASE, leaseDuration)) {
+            log.debug("Expiration des abonnements : bail détenu par une autre instance");
+            return;
+        }
+        try {
+            expire();
+        } catch (RuntimeException e) {
+            log.warn("Expiration des abonnements interrompue, reprise au prochain tour", e);
+        } finally {
+            leaseService.release(LEASE);
+        }
+    }
+
+    public SubscriptionExpiryReportDTO getLastRun() {
+        return lastRun;
+    }
+
+    private void expire() {
+        LocalDateTime startedAt = LocalDateTime.now();
+        long start = System.nanoTime();
+        int processed = 0;
+        int chunks = 0;
+
+        boolean more;
+        do {
+            int expired = expireChunk(startedAt);
+            processed += expired;
+            if (expired > 0) {
+                chunks++;
+            }
+            more = expired == chunkSize && renewLease(chunks);
+        } while (more);
+
+        SubscriptionExpiryReportDTO report = new SubscriptionExpiryReportDTO();
+        report.setStartedAt(startedAt);
+        report.setDurationMs(Duration.ofNanos(System.nanoTime() - start).toMillis());
+        report.setProcessed(processed);
+        report.setChunks(chunks);
+        report.setInstance(leaseService.getOwner());
+        lastRun = report;
+
+        if (processed > 0) {
+            log.info("Expiration des abonnements : {} membres passés en INACTIVE en {} lots ({} ms)",
+                    processed, chunks, report.getDurationMs());
+        } else {
+            log.debug("Expiration des abonnements : aucun abonnement échu ({} ms)", report.getDurationMs());
+        }
+    }
+
+    // bail prolongé avant chaque lot suivant : une longue série de lots ne le laisse pas expirer
+    private boolean renewLease(int chunks) {
+        if (leaseService.tryAcquire(LEASE, leaseDuration)) {
+            return true;
+        }
+        log.warn("Expiration des abonnements : bail perdu après {} lots, arrêt (reprise par l'instance qui le détient)", chunks);
+        return false;
+    }
+
+    private int expireChunk(LocalDateTime now) {
+        Integer expired = transactionTemplate.execute(status -> {
+            List<Long> ids = new ArrayList<>(chunkSize);
+            List<OutboxService.Entry> events = new ArrayList<>(chunkSize);
+            jdbcTemplate.query(SELECT_EXPIRED, rs -> {
+                Long id = rs.getLong("id");
+                Timestamp endDate = rs.getTimestamp("subscription_end_date");
+                ids.add(id);
+                events.add(MemberEvents.subscriptionChanged(id, SubscriptionStatus.ACTIVE,
+                        SubscriptionStatus.INACTIVE, endDate != null ? endDate.toLocalDateTime() : null));
+            }, Timestamp.valueOf(now), chunkSize);
+            if (ids.isEmpty()) {
+                return 0;
+            }
+            memberRepository.expireSubscriptions(ids, now);
+            outboxService.recordAll(events);
+            return ids.size();
+        });
+        return expired != null ? expired : 0;
+    }
+}